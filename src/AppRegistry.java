@@ -0,0 +1,19 @@
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/** Discovers the installed {@link PhoneApp}s via META-INF/services/PhoneApp. */
+public final class AppRegistry {
+    private AppRegistry() { }
+
+    /** Installed apps in home-screen order. Only the small descriptor classes are loaded here. */
+    public static List<PhoneApp> installed() {
+        List<PhoneApp> apps = new ArrayList<>();
+        for (PhoneApp app : ServiceLoader.load(PhoneApp.class)) {
+            apps.add(app);
+        }
+        apps.sort(Comparator.comparingInt(PhoneApp::order).thenComparing(PhoneApp::id));
+        return apps;
+    }
+}
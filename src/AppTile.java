@@ -0,0 +1,47 @@
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.VBox;
+
+/** Launcher tile (icon button + label). Tiles are pooled by {@link HomeScreen} and re-bound as pages scroll. */
+public class AppTile extends VBox {
+    /** Edge of the icon box in layout pixels; {@link IconCache} prepares icons for it. */
+    static final double ICON_SIZE = 64;
+
+    private final ImageView iv = new ImageView();
+    private final Button btn = new Button();
+    private final Label text = new Label();
+
+    public AppTile() {
+        super(8);
+        setAlignment(Pos.TOP_CENTER);
+
+        iv.setFitWidth(ICON_SIZE);
+        iv.setFitHeight(ICON_SIZE);
+        iv.setPreserveRatio(true);
+        iv.setSmooth(true);
+
+        btn.setGraphic(iv);
+        btn.setMinSize(64, 64);
+        btn.setPrefSize(64, 64);
+        btn.getStyleClass().add("app-tile-button");
+
+        text.getStyleClass().add("app-tile-label");
+
+        getChildren().addAll(btn, text);
+    }
+
+    public void bind(String label, IconCache.Icon icon, Runnable onOpen) {
+        iv.setImage(icon.image());
+        text.setText(label);
+        btn.setOnAction(e -> onOpen.run());
+    }
+
+    /** Drop references to the app and its icon so a pooled tile doesn't pin them. */
+    public void unbind() {
+        iv.setImage(null);
+        text.setText("");
+        btn.setOnAction(null);
+    }
+}
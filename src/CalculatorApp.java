@@ -0,0 +1,13 @@
+import javafx.stage.Stage;
+
+public class CalculatorApp implements PhoneApp {
+    @Override public String id() { return "calculator"; }
+    @Override public String label() { return "Calculator"; }
+    @Override public String iconPath() { return "/icons/calculator.png"; }
+    @Override public int order() { return 0; }
+
+    @Override
+    public void open(Phone phone, Stage owner) {
+        new CalculatorWindow(owner).show();
+    }
+}
@@ -23,7 +23,7 @@ public class CalculatorWindow {
         VBox root = new VBox(12);
         root.setPadding(new Insets(12));
 
-        display.setStyle("-fx-font-size: 36; -fx-background-color: black; -fx-text-fill: white; -fx-padding: 12; -fx-background-radius: 16;");
+        display.getStyleClass().add("calc-display");
         display.setAlignment(Pos.CENTER_RIGHT);
         display.setMinHeight(64);
 
@@ -64,7 +64,8 @@ public class CalculatorWindow {
         Button b = new Button(text);
         b.setOnAction(h);
         b.setPrefSize(64, 48);
-        b.setStyle("-fx-background-radius: 12; -fx-background-color: #f3f4f6; -fx-font-size: 16;");
+        b.getStyleClass().add("calc-key");
+        if ("÷×-+=".contains(text)) b.getStyleClass().add("operator");
         g.add(b, c, r);
         return b;
     }
@@ -0,0 +1,13 @@
+import javafx.stage.Stage;
+
+public class ClockApp implements PhoneApp {
+    @Override public String id() { return "clock"; }
+    @Override public String label() { return "Clock"; }
+    @Override public String iconPath() { return "/icons/clock.png"; }
+    @Override public int order() { return 2; }
+
+    @Override
+    public void open(Phone phone, Stage owner) {
+        new ClockWindow(owner).show();
+    }
+}
@@ -0,0 +1,211 @@
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.beans.value.ObservableBooleanValue;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+/**
+ * Single tick source for everything that shows time. Minute and second ticks and alarms are timed by
+ * one daemon scheduler thread, re-armed for the next wall-clock boundary, and delivered on the FX
+ * thread through {@link Platform#runLater}; between them the pulse loop can go idle. Frame ticks come
+ * from one shared {@link AnimationTimer} that only runs while someone needs it. Subscribers only
+ * receive ticks while their {@code activeWhen} condition holds (e.g. window showing and tab selected),
+ * so hidden views cost nothing. All callbacks run on the FX thread; frame ticks run inside animation
+ * processing, so their listeners must not call {@code showAndWait()}.
+ */
+public final class ClockService {
+    public enum Tick { MINUTE, SECOND, FRAME }
+
+    private static ClockService instance;
+
+    public static ClockService get() {
+        if (instance == null) instance = new ClockService();
+        return instance;
+    }
+
+    /** Status-bar time, in the zone of the service's clock. */
+    public static String hhmm(long epochMillis) {
+        return get().hhmm.format(Instant.ofEpochMilli(epochMillis));
+    }
+
+    /** Handle returned by {@link #subscribe} and {@link #schedule}; cancel to stop receiving callbacks. */
+    public interface Subscription {
+        void cancel();
+    }
+
+    private final class TickSub implements Subscription {
+        final Tick tick;
+        final ObservableBooleanValue activeWhen;
+        final LongConsumer onTick;
+        final InvalidationListener listener = o -> update();
+        boolean active;
+
+        TickSub(Tick tick, ObservableBooleanValue activeWhen, LongConsumer onTick) {
+            this.tick = tick;
+            this.activeWhen = activeWhen;
+            this.onTick = onTick;
+        }
+
+        void update() {
+            boolean now = activeWhen.get();
+            if (now == active) return;
+            active = now;
+            if (active) {
+                subsFor(tick).add(this);
+                // catch up immediately: the view may have missed ticks while hidden
+                if (tick != Tick.FRAME) onTick.accept(clock.millis());
+            } else {
+                subsFor(tick).remove(this);
+            }
+            changed();
+        }
+
+        @Override
+        public void cancel() {
+            activeWhen.removeListener(listener);
+            if (active) {
+                active = false;
+                subsFor(tick).remove(this);
+                changed();
+            }
+        }
+
+        /** Frame subscribers only start or stop the frame timer; the wake-up time doesn't depend on them. */
+        private void changed() {
+            if (tick == Tick.FRAME) updateFrames(); else reschedule();
+        }
+    }
+
+    private record Alarm(long at, Runnable action) { }
+
+    private final List<TickSub> minuteSubs = new ArrayList<>();
+    private final List<TickSub> secondSubs = new ArrayList<>();
+    private final List<TickSub> frameSubs = new ArrayList<>();
+    private Clock clock = Clock.systemDefaultZone();
+    private DateTimeFormatter hhmm = hhmmIn(clock);     // cached, thread-safe status-bar formatter
+    private final PriorityQueue<Alarm> alarms = new PriorityQueue<>(Comparator.comparingLong(Alarm::at));
+
+    private final ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, r -> {
+        Thread t = new Thread(r, "clock-service");
+        t.setDaemon(true);
+        return t;
+    });
+    private ScheduledFuture<?> wake;
+    private final AnimationTimer frames = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            for (TickSub s : frameSubs.toArray(new TickSub[0])) s.onTick.accept(now);
+        }
+    };
+    private long lastMinute;
+    private long lastSecond;
+
+    private ClockService() {
+        long now = clock.millis();
+        lastMinute = now / 60_000;
+        lastSecond = now / 1000;
+        timer.setRemoveOnCancelPolicy(true);
+    }
+
+    /** Current wall-clock time in epoch millis; everything that shows the time should read it here. */
+    public long millis() { return clock.millis(); }
+
+    /** Zone of the wall clock, for views that show local time next to {@link #millis()}. */
+    public ZoneId zone() { return clock.getZone(); }
+
+    /** Replace the wall clock, e.g. with a fixed one so rendered output doesn't depend on the time. FX thread. */
+    void setClock(Clock clock) {
+        this.clock = clock;
+        this.hhmm = hhmmIn(clock);
+        long now = clock.millis();
+        lastMinute = now / 60_000;
+        lastSecond = now / 1000;
+        reschedule();
+    }
+
+    private static DateTimeFormatter hhmmIn(Clock clock) {
+        return DateTimeFormatter.ofPattern("HH:mm").withZone(clock.getZone());
+    }
+
+    /**
+     * Deliver {@code tick} to {@code onTick} while {@code activeWhen} is true. Minute and second ticks
+     * pass the epoch millis (and fire once right away on activation); frame ticks pass the pulse nanos.
+     */
+    public Subscription subscribe(Tick tick, ObservableBooleanValue activeWhen, LongConsumer onTick) {
+        TickSub sub = new TickSub(tick, activeWhen, onTick);
+        activeWhen.addListener(sub.listener);
+        sub.update();
+        return sub;
+    }
+
+    /** Run {@code action} once at {@code epochMillis}, regardless of what is visible. */
+    public Subscription schedule(long epochMillis, Runnable action) {
+        Alarm alarm = new Alarm(epochMillis, action);
+        alarms.add(alarm);
+        reschedule();
+        return () -> {
+            if (alarms.remove(alarm)) reschedule();
+        };
+    }
+
+    private List<TickSub> subsFor(Tick tick) {
+        return switch (tick) {
+            case MINUTE -> minuteSubs;
+            case SECOND -> secondSubs;
+            case FRAME -> frameSubs;
+        };
+    }
+
+    private void fire() {
+        long now = clock.millis();
+
+        long second = now / 1000;
+        if (second != lastSecond) {
+            lastSecond = second;
+            for (TickSub s : secondSubs.toArray(new TickSub[0])) s.onTick.accept(now);
+        }
+        long minute = now / 60_000;
+        if (minute != lastMinute) {
+            lastMinute = minute;
+            for (TickSub s : minuteSubs.toArray(new TickSub[0])) s.onTick.accept(now);
+        }
+        while (!alarms.isEmpty() && alarms.peek().at() <= now) {
+            alarms.poll().action().run();
+        }
+        reschedule();
+    }
+
+    /** Re-arm the single wake-up for the nearest boundary or alarm. FX thread. */
+    private void reschedule() {
+        long now = clock.millis();
+        long next = Long.MAX_VALUE;
+        if (!secondSubs.isEmpty()) next = (now / 1000 + 1) * 1000;
+        else if (!minuteSubs.isEmpty()) next = (now / 60_000 + 1) * 60_000;
+        if (!alarms.isEmpty()) next = Math.min(next, alarms.peek().at());
+
+        if (wake != null) wake.cancel(false);
+        wake = null;
+        if (next != Long.MAX_VALUE) {
+            // the scheduler's clock can drift from the wall clock: +1ms lands past the boundary, and a
+            // wake-up that is still early (or already posted when cancelled) finds nothing due and re-arms
+            wake = timer.schedule(() -> Platform.runLater(this::fire), Math.max(1, next - now + 1), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /** Run the frame timer exactly while someone subscribes to frames. FX thread. */
+    private void updateFrames() {
+        if (frameSubs.isEmpty()) frames.stop(); else frames.start();
+    }
+}
@@ -0,0 +1,236 @@
+import javafx.beans.binding.Bindings;
+import javafx.beans.binding.BooleanBinding;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.*;
+import javafx.scene.layout.*;
+import javafx.stage.Modality;
+import javafx.stage.Stage;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.LongConsumer;
+
+/** World clocks, stopwatch and countdown timers, all driven by the shared {@link ClockService}. */
+public class ClockWindow {
+    private static final String[][] WORLD = {
+            {"Local", null},
+            {"San Diego", "America/Los_Angeles"},
+            {"New York", "America/New_York"},
+            {"London", "Europe/London"},
+            {"Tokyo", "Asia/Tokyo"},
+    };
+
+    private final Stage stage = new Stage();
+    private final ClockService clock = ClockService.get();
+    private final List<ClockService.Subscription> subs = new ArrayList<>();
+
+    // world clocks: one cached formatter per zone
+    private final List<Label> worldLbls = new ArrayList<>();
+    private final List<DateTimeFormatter> worldFmts = new ArrayList<>();
+
+    // stopwatch state (nanoTime based so wall-clock changes don't affect it)
+    private final Label swLbl = new Label(formatElapsed(0));
+    private final ListView<String> laps = new ListView<>();
+    private final BooleanProperty swRunning = new SimpleBooleanProperty(false);
+    private long swStartNanos;
+    private long swAccumNanos;
+
+    // countdown timers
+    private final VBox timerRows = new VBox(6);
+
+    public ClockWindow(Stage owner) {
+        stage.initOwner(owner);
+        stage.initModality(Modality.NONE);
+        stage.setTitle("Clock");
+
+        Tab world = new Tab("World", buildWorld());
+        Tab stopwatch = new Tab("Stopwatch", buildStopwatch());
+        Tab timers = new Tab("Timers", buildTimers());
+
+        TabPane tabs = new TabPane(world, stopwatch, timers);
+        tabs.setTabClosingPolicy(TabPane.TabClosingPolicy.UNAVAILABLE);
+
+        // each tab only ticks while it is selected and the window is up
+        subscribe(ClockService.Tick.MINUTE, visible(world), this::updateWorld);
+        subscribe(ClockService.Tick.FRAME, visible(stopwatch).and(swRunning), t -> swLbl.setText(formatElapsed(elapsedNanos())));
+        subscribe(ClockService.Tick.SECOND, visible(timers), this::updateTimers);
+
+        stage.setOnHidden(e -> subs.forEach(ClockService.Subscription::cancel));
+        stage.setScene(new Scene(tabs, 340, 440));
+    }
+
+    public void show() { stage.show(); }
+
+    private BooleanBinding visible(Tab tab) {
+        return Bindings.and(stage.showingProperty(), tab.selectedProperty());
+    }
+
+    private void subscribe(ClockService.Tick tick, BooleanBinding activeWhen, LongConsumer onTick) {
+        subs.add(clock.subscribe(tick, activeWhen, onTick));
+    }
+
+    // ---------------- World ----------------
+
+    private VBox buildWorld() {
+        VBox box = new VBox(10);
+        box.setPadding(new Insets(16));
+        for (String[] w : WORLD) {
+            ZoneId zone = w[1] == null ? clock.zone() : ZoneId.of(w[1]);   // "Local" matches the status bar
+            Label city = new Label(w[0]);
+            city.getStyleClass().add("clock-city");
+            Label time = new Label();
+            time.getStyleClass().add("clock-time");
+            Region gap = new Region();
+            HBox.setHgrow(gap, Priority.ALWAYS);
+            HBox row = new HBox(city, gap, time);
+            row.setAlignment(Pos.CENTER_LEFT);
+            box.getChildren().add(row);
+            worldLbls.add(time);
+            worldFmts.add(DateTimeFormatter.ofPattern("HH:mm  EEE", Locale.US).withZone(zone));
+        }
+        return box;
+    }
+
+    private void updateWorld(long epochMillis) {
+        Instant now = Instant.ofEpochMilli(epochMillis);
+        for (int i = 0; i < worldLbls.size(); i++) {
+            worldLbls.get(i).setText(worldFmts.get(i).format(now));
+        }
+    }
+
+    // ---------------- Stopwatch ----------------
+
+    private VBox buildStopwatch() {
+        swLbl.getStyleClass().addAll("stopwatch-time", "mono");
+
+        Button startStop = new Button("Start");
+        Button lapReset = new Button("Reset");
+        startStop.setPrefWidth(90);
+        lapReset.setPrefWidth(90);
+
+        startStop.setOnAction(e -> {
+            if (swRunning.get()) {
+                swAccumNanos = elapsedNanos();
+                swRunning.set(false);
+                swLbl.setText(formatElapsed(swAccumNanos));
+            } else {
+                swStartNanos = System.nanoTime();
+                swRunning.set(true);
+            }
+        });
+        lapReset.setOnAction(e -> {
+            if (swRunning.get()) {
+                laps.getItems().add(0, "Lap " + (laps.getItems().size() + 1) + "   " + formatElapsed(elapsedNanos()));
+            } else {
+                swAccumNanos = 0;
+                laps.getItems().clear();
+                swLbl.setText(formatElapsed(0));
+            }
+        });
+        swRunning.addListener((o, was, running) -> {
+            startStop.setText(running ? "Stop" : "Start");
+            lapReset.setText(running ? "Lap" : "Reset");
+        });
+
+        HBox buttons = new HBox(12, lapReset, startStop);
+        buttons.setAlignment(Pos.CENTER);
+
+        laps.setPlaceholder(new Label("No laps"));
+        VBox.setVgrow(laps, Priority.ALWAYS);
+
+        VBox box = new VBox(12, swLbl, buttons, laps);
+        box.setAlignment(Pos.TOP_CENTER);
+        box.setPadding(new Insets(16));
+        return box;
+    }
+
+    private long elapsedNanos() {
+        return swRunning.get() ? swAccumNanos + (System.nanoTime() - swStartNanos) : swAccumNanos;
+    }
+
+    private static String formatElapsed(long nanos) {
+        long centis = nanos / 10_000_000L;
+        return String.format(Locale.US, "%02d:%02d.%02d", centis / 6000, (centis / 100) % 60, centis % 100);
+    }
+
+    // ---------------- Timers ----------------
+
+    private final class CountdownRow extends HBox {
+        final long endsAt;
+        final Label remaining = new Label();
+        final ClockService.Subscription alarm;
+
+        CountdownRow(long endsAt, String title) {
+            super(10);
+            this.endsAt = endsAt;
+            setAlignment(Pos.CENTER_LEFT);
+            remaining.getStyleClass().addAll("timer-remaining", "mono");
+            Region gap = new Region();
+            HBox.setHgrow(gap, Priority.ALWAYS);
+            Button cancel = new Button("Cancel");
+            getChildren().addAll(new Label(title), gap, remaining, cancel);
+            update(clock.millis());
+
+            // fires even while the Clock window is hidden or closed
+            alarm = clock.schedule(endsAt, () -> {
+                timerRows.getChildren().remove(this);
+                Alert a = new Alert(Alert.AlertType.INFORMATION, title + " is done.", ButtonType.OK);
+                a.initOwner(stage.getOwner());
+                a.setHeaderText(null);
+                a.setTitle("Timer");
+                a.show();
+            });
+            cancel.setOnAction(e -> {
+                alarm.cancel();
+                timerRows.getChildren().remove(this);
+            });
+        }
+
+        void update(long now) {
+            long secs = Math.max(0, (endsAt - now + 999) / 1000);
+            remaining.setText(String.format(Locale.US, "%d:%02d:%02d", secs / 3600, (secs / 60) % 60, secs % 60));
+        }
+    }
+
+    private VBox buildTimers() {
+        Spinner<Integer> mins = new Spinner<>(0, 600, 5);
+        Spinner<Integer> secs = new Spinner<>(0, 59, 0);
+        mins.setPrefWidth(80);
+        secs.setPrefWidth(80);
+        mins.setEditable(true);
+        secs.setEditable(true);
+
+        Button start = new Button("Start");
+        start.setOnAction(e -> {
+            long total = mins.getValue() * 60L + secs.getValue();
+            if (total <= 0) return;
+            String title = String.format(Locale.US, "%d:%02d timer", total / 60, total % 60);
+            timerRows.getChildren().add(new CountdownRow(clock.millis() + total * 1000, title));
+        });
+
+        HBox add = new HBox(8, new Label("Min"), mins, new Label("Sec"), secs, start);
+        add.setAlignment(Pos.CENTER_LEFT);
+
+        ScrollPane scroll = new ScrollPane(timerRows);
+        scroll.setFitToWidth(true);
+        VBox.setVgrow(scroll, Priority.ALWAYS);
+
+        VBox box = new VBox(12, add, scroll);
+        box.setPadding(new Insets(16));
+        return box;
+    }
+
+    private void updateTimers(long now) {
+        for (var n : timerRows.getChildren()) {
+            ((CountdownRow) n).update(now);
+        }
+    }
+}
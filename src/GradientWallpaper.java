@@ -0,0 +1,60 @@
+import javafx.scene.paint.Color;
+
+/** Slowly turning three-color gradient with a soft wave; every pixel changes every frame. */
+public class GradientWallpaper implements WallpaperGenerator {
+    private final int[] lut = new int[256];     // ping-pong palette, so index wrap-around is seamless
+    private double diag;
+    private double t;
+    private double cos;
+    private double sin;
+    private double phase;
+    private double waveY;
+
+    @Override public String id() { return "gradient"; }
+
+    @Override public String label() { return "Aurora"; }
+
+    @Override
+    public void init(int width, int height, double scale) {
+        diag = Math.hypot(width, height);
+    }
+
+    @Override
+    public void advance(double seconds, double offsetX, double offsetY, LiveWallpaper.Dirty dirty) {
+        t = seconds;
+        double angle = 1.1 + 0.35 * Math.sin(t * 0.07) + offsetY / diag;
+        cos = Math.cos(angle);
+        sin = Math.sin(angle);
+        phase = t * 9 + offsetX / diag * 256;
+        waveY = 12 * Math.PI / diag;
+
+        int a = argb(Color.hsb(215 + 25 * Math.sin(t * 0.11), 0.85, 0.55));
+        int b = argb(Color.hsb(280 + 30 * Math.sin(t * 0.09 + 1), 0.70, 0.75));
+        int c = argb(Color.hsb(165 + 20 * Math.sin(t * 0.13 + 2), 0.80, 0.65));
+        for (int i = 0; i < 128; i++) {
+            double u = i / 127.0 * 2;
+            int col = u < 1 ? WallpaperGenerator.mix(a, b, u) : WallpaperGenerator.mix(b, c, u - 1);
+            lut[i] = col;
+            lut[255 - i] = col;
+        }
+        dirty.add(0, 0, Integer.MAX_VALUE, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void paintRow(int y, int x0, int x1, int step, int[] out) {
+        // palette index is linear in x along the row: start + x * dx, plus a per-row wave
+        double k = 256 / diag * 1.6;
+        double dx = cos * k;
+        double idx = (x0 * cos + y * sin) * k + phase + 18 * Math.sin(y * waveY + t * 0.6);
+        int n = x1 - x0;
+        for (int i = 0; i < n; i += step) {
+            out[i] = lut[(int) Math.floor(idx + i * dx) & 0xFF];
+        }
+        WallpaperGenerator.fillBlocks(out, n, step);
+    }
+
+    private static int argb(Color c) {
+        return 0xFF000000 | (int) Math.round(c.getRed() * 255) << 16
+                | (int) Math.round(c.getGreen() * 255) << 8 | (int) Math.round(c.getBlue() * 255);
+    }
+}
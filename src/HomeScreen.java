@@ -0,0 +1,196 @@
+import javafx.animation.Interpolator;
+import javafx.animation.TranslateTransition;
+import javafx.css.PseudoClass;
+import javafx.geometry.Pos;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.SwipeEvent;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.Rectangle;
+import javafx.stage.Screen;
+import javafx.util.Duration;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Swipeable, paged launcher. Only the current page and its neighbours have nodes; tiles and page grids
+ * of pages that scroll out of that window go back to a pool and get re-bound to other apps.
+ */
+public class HomeScreen extends VBox {
+    static final int COLS = 4;
+    static final int ROWS = 5;
+    static final int PER_PAGE = COLS * ROWS;
+
+    private static final double SWIPE_THRESHOLD = 0.2;  // fraction of page width that flips the page
+    private static final PseudoClass CURRENT = PseudoClass.getPseudoClass("current");
+
+    private final List<PhoneApp> apps;
+    private final Consumer<PhoneApp> onOpen;
+    private final double pageW;
+    private final int pageCount;
+
+    // enough decoded icons for the live window (3 pages) plus a little slack for swiping back
+    private final IconCache icons = new IconCache(PER_PAGE * 4, AppTile.ICON_SIZE);
+    private final Deque<AppTile> tilePool = new ArrayDeque<>();
+    private final Deque<GridPane> gridPool = new ArrayDeque<>();
+    private final Map<Integer, GridPane> livePages = new HashMap<>();
+
+    private final Pane strip = new Pane();    // live pages laid out side by side at x = index * pageW
+    private final HBox dots = new HBox(8);
+    private final TranslateTransition snap = new TranslateTransition(Duration.millis(220), strip);
+
+    private double renderScale = Math.max(Screen.getPrimary().getOutputScaleX(), Screen.getPrimary().getOutputScaleY());
+    private int page = 0;
+    private double pressX;
+    private boolean dragging;
+
+    public HomeScreen(List<PhoneApp> apps, double pageW, Consumer<PhoneApp> onOpen) {
+        super(10);
+        this.apps = apps;
+        this.onOpen = onOpen;
+        this.pageW = pageW;
+        this.pageCount = Math.max(1, (apps.size() + PER_PAGE - 1) / PER_PAGE);
+
+        Pane viewport = new Pane(strip);
+        viewport.setPrefWidth(pageW);
+        viewport.setMaxWidth(pageW);
+        VBox.setVgrow(viewport, Priority.ALWAYS);
+        Rectangle clip = new Rectangle();
+        clip.widthProperty().bind(viewport.widthProperty());
+        clip.heightProperty().bind(viewport.heightProperty());
+        viewport.setClip(clip);
+
+        for (int i = 0; i < pageCount; i++) {
+            Circle dot = new Circle(3.5);
+            dot.getStyleClass().add("page-dot");
+            dots.getChildren().add(dot);
+        }
+        dots.setAlignment(Pos.CENTER);
+        dots.setVisible(pageCount > 1);
+        dots.setManaged(pageCount > 1);
+
+        setAlignment(Pos.TOP_CENTER);
+        getChildren().addAll(viewport, dots);
+
+        snap.setInterpolator(Interpolator.EASE_OUT);
+        snap.setOnFinished(e -> releaseFarPages());
+
+        // filters so drags that start on a tile button still move the pages
+        viewport.addEventFilter(MouseEvent.MOUSE_PRESSED, e -> {
+            pressX = e.getSceneX();
+            dragging = false;
+            snap.stop();
+        });
+        viewport.addEventFilter(MouseEvent.MOUSE_DRAGGED, e -> {
+            double dx = e.getSceneX() - pressX;
+            if (Math.abs(dx) > 6) dragging = true;
+            if (dragging) strip.setTranslateX(-page * pageW + rubberBand(dx));
+        });
+        viewport.addEventFilter(MouseEvent.MOUSE_RELEASED, e -> {
+            if (!dragging) return;
+            double dx = e.getSceneX() - pressX;
+            if (dx < -pageW * SWIPE_THRESHOLD) showPage(page + 1);
+            else if (dx > pageW * SWIPE_THRESHOLD) showPage(page - 1);
+            else showPage(page);
+        });
+        viewport.addEventHandler(SwipeEvent.SWIPE_LEFT, e -> showPage(page + 1));
+        viewport.addEventHandler(SwipeEvent.SWIPE_RIGHT, e -> showPage(page - 1));
+
+        showPage(0);
+    }
+
+    public int getPage() { return page; }
+
+    public int getPageCount() { return pageCount; }
+
+    /** Physical pixels per layout pixel of the window; live pages are re-bound to matching icons. */
+    public void setRenderScale(double scale) {
+        boolean changed = IconCache.variantFor(scale) != IconCache.variantFor(renderScale);
+        renderScale = scale;
+        if (!changed) return;
+        livePages.values().forEach(this::releasePage);
+        livePages.clear();
+        showPage(page);
+    }
+
+    /** Scroll to {@code index} (clamped), materializing it and its neighbours. */
+    public void showPage(int index) {
+        page = Math.max(0, Math.min(pageCount - 1, index));
+        for (int p = page - 1; p <= page + 1; p++) {
+            if (p >= 0 && p < pageCount && !livePages.containsKey(p)) {
+                livePages.put(p, buildPage(p));
+            }
+        }
+        for (int i = 0; i < pageCount; i++) {
+            dots.getChildren().get(i).pseudoClassStateChanged(CURRENT, i == page);
+        }
+        snap.stop();
+        snap.setToX(-page * pageW);
+        snap.playFromStart();
+    }
+
+    /** Pull back past the first/last page so the user feels the edge. */
+    private double rubberBand(double dx) {
+        boolean pastEdge = (page == 0 && dx > 0) || (page == pageCount - 1 && dx < 0);
+        return pastEdge ? dx / 3 : dx;
+    }
+
+    private GridPane buildPage(int p) {
+        GridPane grid = gridPool.isEmpty() ? newGrid() : gridPool.pop();
+        grid.setLayoutX(p * pageW);
+
+        int from = p * PER_PAGE;
+        int to = Math.min(apps.size(), from + PER_PAGE);
+        for (int i = from; i < to; i++) {
+            PhoneApp app = apps.get(i);
+            AppTile tile = tilePool.isEmpty() ? new AppTile() : tilePool.pop();
+            tile.bind(app.label(), icons.get(app.iconPath(), renderScale), () -> {
+                if (!dragging) onOpen.accept(app);
+            });
+            grid.add(tile, (i - from) % COLS, (i - from) / COLS);
+        }
+        strip.getChildren().add(grid);
+        return grid;
+    }
+
+    private GridPane newGrid() {
+        GridPane grid = new GridPane();
+        grid.setHgap(22);
+        grid.setVgap(22);
+        grid.setAlignment(Pos.TOP_CENTER);
+        grid.setPrefWidth(pageW);
+        return grid;
+    }
+
+    /** Return tiles and grids of pages outside current +/- 1 to the pools. */
+    private void releaseFarPages() {
+        Iterator<Map.Entry<Integer, GridPane>> it = livePages.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Integer, GridPane> e = it.next();
+            if (Math.abs(e.getKey() - page) <= 1) continue;
+            releasePage(e.getValue());
+            it.remove();
+        }
+    }
+
+    private void releasePage(GridPane grid) {
+        grid.getChildren().forEach(n -> {
+            AppTile tile = (AppTile) n;
+            tile.unbind();
+            tilePool.push(tile);
+        });
+        grid.getChildren().clear();
+        strip.getChildren().remove(grid);
+        gridPool.push(grid);
+    }
+}
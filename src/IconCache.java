@@ -0,0 +1,177 @@
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.WritableImage;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Bounded LRU of launcher icons, prepared for the tile size. The source PNG is decoded once per
+ * variant, then alpha-cropped and scaled to the tile size times the variant scale: 1x, 1.5x, 2x or 3x,
+ * whichever is the first at or above the screen's render scale. The source is then dropped. Tiles then
+ * draw a texture at its native size, and memory follows the tile size rather than the source size.
+ * Icons are never scaled up past their cropped source.
+ */
+public class IconCache {
+    private static final double[] VARIANTS = {1, 1.5, 2, 3};
+
+    /** Prepared icon and the variant scale it was made for. */
+    public record Icon(Image image, double variant) { }
+
+    private final Map<String, Icon> cache;
+    private final double tileSize;
+
+    public IconCache(int maxEntries, double tileSize) {
+        this.tileSize = tileSize;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Icon> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /** Icon for {@code imgClasspath} at the variant that suits {@code renderScale}. */
+    public Icon get(String imgClasspath, double renderScale) {
+        double variant = variantFor(renderScale);
+        String key = imgClasspath + "@" + variant;
+        Icon icon = cache.get(key);
+        if (icon == null) {
+            icon = prepare(imgClasspath, variant);
+            cache.put(key, icon);
+        }
+        return icon;
+    }
+
+    public int size() { return cache.size(); }
+
+    /** Smallest variant that covers {@code renderScale} (so nothing is drawn stretched), else the largest. */
+    static double variantFor(double renderScale) {
+        for (double v : VARIANTS) {
+            if (v >= renderScale - 0.01) return v;
+        }
+        return VARIANTS[VARIANTS.length - 1];
+    }
+
+    private Icon prepare(String imgClasspath, double variant) {
+        Image src = PhoneEvents.decodeImage("icon", imgClasspath, Objects.requireNonNull(
+                IconCache.class.getResourceAsStream(imgClasspath),
+                "Missing resource: " + imgClasspath
+        ));
+        Rectangle2D crop = opaqueBounds(src);
+        if (crop == null) crop = new Rectangle2D(0, 0, src.getWidth(), src.getHeight());
+        int cw = (int) crop.getWidth();
+        int ch = (int) crop.getHeight();
+        int[] px = new int[cw * ch];
+        src.getPixelReader().getPixels((int) crop.getMinX(), (int) crop.getMinY(), cw, ch,
+                PixelFormat.getIntArgbPreInstance(), px, 0, cw);
+
+        // fit the crop into the tile box at the variant's pixel size
+        double fit = Math.min(1, Math.ceil(tileSize * variant) / Math.max(cw, ch));
+        int w = Math.max(1, (int) Math.round(cw * fit));
+        int h = Math.max(1, (int) Math.round(ch * fit));
+        int[] scaled = resample(px, cw, ch, w, h);
+
+        WritableImage out = new WritableImage(w, h);
+        out.getPixelWriter().setPixels(0, 0, w, h, PixelFormat.getIntArgbPreInstance(), scaled, 0, w);
+        return new Icon(out, variant);
+    }
+
+    /**
+     * Scale premultiplied ARGB pixels down to {@code w} x {@code h}. Halves with 2x2 box averages while the
+     * image is at least twice the target, then one bilinear pass to the exact size.
+     */
+    private static int[] resample(int[] px, int sw, int sh, int w, int h) {
+        while (sw >= 2 * w && sh >= 2 * h) {
+            int hw = sw / 2;
+            int hh = sh / 2;
+            int[] half = new int[hw * hh];
+            for (int y = 0; y < hh; y++) {
+                for (int x = 0; x < hw; x++) {
+                    int i = 2 * y * sw + 2 * x;
+                    half[y * hw + x] = average(px[i], px[i + 1], px[i + sw], px[i + sw + 1]);
+                }
+            }
+            px = half;
+            sw = hw;
+            sh = hh;
+        }
+        if (sw == w && sh == h) return px;
+
+        int[] out = new int[w * h];
+        double sx = (double) sw / w;
+        double sy = (double) sh / h;
+        for (int y = 0; y < h; y++) {
+            double fy = Math.max(0, (y + 0.5) * sy - 0.5);
+            int y0 = Math.min(sh - 1, (int) fy);
+            int y1 = Math.min(sh - 1, y0 + 1);
+            double ty = fy - y0;
+            for (int x = 0; x < w; x++) {
+                double fx = Math.max(0, (x + 0.5) * sx - 0.5);
+                int x0 = Math.min(sw - 1, (int) fx);
+                int x1 = Math.min(sw - 1, x0 + 1);
+                double tx = fx - x0;
+                out[y * w + x] = bilinear(px[y0 * sw + x0], px[y0 * sw + x1], px[y1 * sw + x0], px[y1 * sw + x1], tx, ty);
+            }
+        }
+        return out;
+    }
+
+    private static int average(int a, int b, int c, int d) {
+        int out = 0;
+        for (int shift = 0; shift < 32; shift += 8) {
+            int sum = ((a >>> shift) & 0xFF) + ((b >>> shift) & 0xFF) + ((c >>> shift) & 0xFF) + ((d >>> shift) & 0xFF);
+            out |= ((sum + 2) >> 2) << shift;
+        }
+        return out;
+    }
+
+    private static int bilinear(int a, int b, int c, int d, double tx, double ty) {
+        int out = 0;
+        for (int shift = 0; shift < 32; shift += 8) {
+            double top = ((a >>> shift) & 0xFF) * (1 - tx) + ((b >>> shift) & 0xFF) * tx;
+            double bottom = ((c >>> shift) & 0xFF) * (1 - tx) + ((d >>> shift) & 0xFF) * tx;
+            out |= (int) Math.round(top * (1 - ty) + bottom * ty) << shift;
+        }
+        return out;
+    }
+
+    /** Bounding box of the non-transparent pixels, using the alpha channel. */
+    private static Rectangle2D opaqueBounds(Image img) {
+        PhoneEvents.IconCrop ev = new PhoneEvents.IconCrop();
+        ev.begin();
+        PixelReader pr = img.getPixelReader();
+        int w = (int) img.getWidth();
+        int h = (int) img.getHeight();
+        int minX = w, minY = h, maxX = -1, maxY = -1;
+
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                int argb = pr.getArgb(x, y);
+                int a = (argb >>> 24) & 0xFF;
+                if (a != 0) {
+                    if (x < minX) minX = x;
+                    if (y < minY) minY = y;
+                    if (x > maxX) maxX = x;
+                    if (y > maxY) maxY = y;
+                }
+            }
+        }
+
+        Rectangle2D bounds = null;
+        if (maxX >= minX && maxY >= minY) {
+            bounds = new Rectangle2D(minX, minY, maxX - minX + 1, maxY - minY + 1);
+        }
+        ev.end();
+        if (ev.shouldCommit()) {
+            ev.pixels = (long) w * h;
+            ev.cropWidth = bounds != null ? (int) bounds.getWidth() : 0;
+            ev.cropHeight = bounds != null ? (int) bounds.getHeight() : 0;
+            ev.commit();
+        }
+        return bounds;
+    }
+}
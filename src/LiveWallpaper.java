@@ -0,0 +1,359 @@
+import javafx.application.Platform;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelBuffer;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Animated wallpaper drawn by a {@link WallpaperGenerator} on a background thread. Frames go straight
+ * into direct buffers wrapped by {@link PixelBuffer}s, so nothing is copied on the heap. Only the
+ * damaged rectangles of each frame are drawn; the upload to the texture covers their bounding box,
+ * since a PixelBuffer update takes a single dirty rectangle. Three buffers rotate: one on screen, one
+ * cooling off for a pulse (the renderer may still be reading it), and one being drawn. The FX thread
+ * only swaps images on the shared {@link ClockService} frame tick, and only while a frame is waiting.
+ * <p>
+ * When drawing takes more than half the frame interval, the render thread first computes fewer pixels
+ * (2x2, then 4x4 blocks) and then lowers the frame rate (60, 30, 15 fps). It climbs back once frames
+ * are comfortably cheap again, and a scene that comes to rest gets one full-quality frame. The FX
+ * thread never waits for a frame.
+ */
+public class LiveWallpaper {
+    private static final int BUFFERS = 3;
+    private static final int[] FPS = {60, 30, 15};
+    private static final int[] STEP = {1, 2, 4};          // pixel block edge per quality level
+    private static final double BUDGET = 0.5;             // share of the frame interval drawing may take
+    private static final int SETTLE_FRAMES = 10;          // frames at a level before it may be lowered
+    private static final int RECOVER_FRAMES = 120;        // cheap frames in a row before stepping back up
+    private static final int HISTORY = 8;                 // per-frame damage kept for catching up buffers
+
+    /**
+     * Damaged area of a frame as a bitmap of {@value #TILE}-pixel tiles, so scattered changes don't
+     * merge into one box. Render thread only.
+     */
+    public static final class Dirty {
+        static final int TILE = 16;                      // a multiple of every STEP, so tiles are whole blocks
+
+        private final int width;
+        private final int height;
+        private final int cols;
+        private final int rows;
+        private final long[] bits;
+        private boolean empty = true;
+
+        Dirty(int width, int height) {
+            this.width = width;
+            this.height = height;
+            cols = (width + TILE - 1) / TILE;
+            rows = (height + TILE - 1) / TILE;
+            bits = new long[(cols * rows + 63) >>> 6];
+        }
+
+        /** Mark pixels [x0, x1) x [y0, y1); parts outside the buffer are ignored. */
+        public void add(int x0, int y0, int x1, int y1) {
+            x0 = Math.max(0, x0);
+            y0 = Math.max(0, y0);
+            x1 = Math.min(width, x1);
+            y1 = Math.min(height, y1);
+            if (x0 >= x1 || y0 >= y1) return;
+            for (int ty = y0 / TILE; ty <= (y1 - 1) / TILE; ty++) {
+                for (int tx = x0 / TILE; tx <= (x1 - 1) / TILE; tx++) {
+                    int i = ty * cols + tx;
+                    bits[i >>> 6] |= 1L << i;
+                }
+            }
+            empty = false;
+        }
+
+        void add(Dirty d) {
+            if (d.empty) return;
+            for (int i = 0; i < bits.length; i++) bits[i] |= d.bits[i];
+            empty = false;
+        }
+
+        public boolean isEmpty() { return empty; }
+
+        void clear() {
+            if (!empty) Arrays.fill(bits, 0);
+            empty = true;
+        }
+
+        void set(Dirty d) {
+            System.arraycopy(d.bits, 0, bits, 0, bits.length);
+            empty = d.empty;
+        }
+
+        boolean tile(int tx, int ty) {
+            int i = ty * cols + tx;
+            return (bits[i >>> 6] & 1L << i) != 0;
+        }
+
+        /** Bounding box of the dirty tiles, clipped to the buffer. */
+        Rectangle2D bounds() {
+            int tx0 = cols, ty0 = rows, tx1 = -1, ty1 = -1;
+            for (int ty = 0; ty < rows; ty++) {
+                for (int tx = 0; tx < cols; tx++) {
+                    if (!tile(tx, ty)) continue;
+                    tx0 = Math.min(tx0, tx); ty0 = Math.min(ty0, ty);
+                    tx1 = Math.max(tx1, tx); ty1 = Math.max(ty1, ty);
+                }
+            }
+            if (tx1 < 0) return new Rectangle2D(0, 0, 0, 0);
+            int x0 = tx0 * TILE, y0 = ty0 * TILE;
+            return new Rectangle2D(x0, y0, Math.min(width, (tx1 + 1) * TILE) - x0, Math.min(height, (ty1 + 1) * TILE) - y0);
+        }
+    }
+
+    /** One direct buffer and the image that shows it. */
+    private static final class Slot {
+        final IntBuffer px;
+        final PixelBuffer<IntBuffer> buffer;
+        final WritableImage image;
+        final Dirty damage;                  // what changed since this slot was last drawn (and shown)
+        long frame = -1;                     // frame number last drawn into px
+
+        Slot(int w, int h) {
+            px = ByteBuffer.allocateDirect(w * h * 4).order(ByteOrder.nativeOrder()).asIntBuffer();
+            buffer = new PixelBuffer<>(w, h, px, PixelFormat.getIntArgbPreInstance());
+            image = new WritableImage(buffer);
+            damage = new Dirty(w, h);
+        }
+    }
+
+    private final WallpaperGenerator generator;
+    private final int width;
+    private final int height;
+    private final double scale;
+    private final ImageView view = new ImageView();
+    private final BlockingQueue<Slot> free = new ArrayBlockingQueue<>(BUFFERS);
+    private final BlockingQueue<Slot> ready = new ArrayBlockingQueue<>(1);
+    private final AtomicBoolean wakePosted = new AtomicBoolean();
+    private volatile double offsetX;
+    private volatile double offsetY;
+    private Thread thread;
+
+    // FX thread only
+    private final BooleanProperty pending = new SimpleBooleanProperty();
+    private ClockService.Subscription ticks;
+    private Slot shown;
+    private Slot cooling;
+
+    /** Installed generators (fresh instances), in service-file order. */
+    public static List<WallpaperGenerator> generators() {
+        List<WallpaperGenerator> out = new ArrayList<>();
+        for (WallpaperGenerator g : ServiceLoader.load(WallpaperGenerator.class)) out.add(g);
+        return out;
+    }
+
+    /** Fresh instance of the generator with {@code id}, or null if none is installed. */
+    public static WallpaperGenerator generator(String id) {
+        for (WallpaperGenerator g : generators()) {
+            if (g.id().equals(id)) return g;
+        }
+        return null;
+    }
+
+    /** Wallpaper of {@code w} x {@code h} layout pixels drawn at {@code scale} physical pixels per unit. */
+    public LiveWallpaper(WallpaperGenerator generator, double w, double h, double scale) {
+        this.generator = generator;
+        this.scale = scale;
+        this.width = (int) Math.ceil(w * scale);
+        this.height = (int) Math.ceil(h * scale);
+        for (int i = 0; i < BUFFERS; i++) free.add(new Slot(width, height));
+        view.setFitWidth(w);
+        view.setFitHeight(h);
+        view.setSmooth(true);
+    }
+
+    public ImageView view() { return view; }
+
+    public WallpaperGenerator generator() { return generator; }
+
+    /** Same offsets as the static wallpaper, in layout pixels. Any thread. */
+    public void setOffset(double x, double y) {
+        offsetX = x;
+        offsetY = y;
+    }
+
+    public void start() {
+        if (thread != null) return;
+        ticks = ClockService.get().subscribe(ClockService.Tick.FRAME, pending, now -> swap());
+        thread = new Thread(this::run, "live-wallpaper");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.NORM_PRIORITY - 1);
+        thread.start();
+    }
+
+    public void stop() {
+        if (thread == null) return;
+        thread.interrupt();
+        thread = null;
+        ticks.cancel();
+        pending.set(false);
+    }
+
+    // ---------------- FX thread ----------------
+
+    /** Show the waiting frame, if any; the previous one stays untouched for one more pulse. */
+    private void swap() {
+        if (cooling != null) {
+            free.add(cooling);
+            cooling = null;
+        }
+        Slot s = ready.poll();
+        if (s == null) {
+            // nothing in flight: stop taking frame ticks until the render thread posts again
+            wakePosted.set(false);
+            pending.set(false);
+            if (!ready.isEmpty() && !wakePosted.getAndSet(true)) pending.set(true);
+            return;
+        }
+        Rectangle2D upload = s.damage.bounds();
+        s.buffer.updateBuffer(b -> upload);
+        view.setImage(s.image);
+        cooling = shown;
+        shown = s;
+    }
+
+    // ---------------- render thread ----------------
+
+    private void run() {
+        generator.init(width, height, scale);
+        Dirty changed = new Dirty(width, height);
+        Dirty[] history = new Dirty[HISTORY];
+        for (int i = 0; i < HISTORY; i++) history[i] = new Dirty(width, height);
+        int[] row = new int[width];
+
+        long start = System.nanoTime();
+        long next = start;
+        long frame = 0;
+        int fpsLevel = 0;
+        int stepLevel = 0;
+        boolean redrawAll = true;
+        boolean refined = true;              // the buffers hold a full-quality frame of the resting scene
+        double avg = 0;                      // smoothed cost of a frame, nanos
+        int samples = 0;                     // frames measured at the current level
+        int cheap = 0;                       // consecutive frames well under budget
+
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                long interval = 1_000_000_000L / FPS[fpsLevel];
+                long now;
+                while ((now = System.nanoTime()) < next) {
+                    LockSupport.parkNanos(next - now);
+                    if (Thread.currentThread().isInterrupted()) return;
+                }
+                next = Math.max(next + interval, now);    // late frames are dropped, not caught up
+
+                int step = STEP[stepLevel];
+                long started = System.nanoTime();
+                changed.clear();
+                generator.advance((now - start) / 1e9, offsetX * scale, offsetY * scale, changed);
+                if (redrawAll) {
+                    changed.add(0, 0, width, height);
+                    redrawAll = false;
+                }
+                boolean refine = false;
+                if (!changed.isEmpty()) {
+                    refined = step == 1;
+                } else if (!refined) {
+                    // the scene came to rest showing coarse blocks: draw it once more at full quality
+                    refined = refine = true;
+                    step = 1;
+                    changed.add(0, 0, width, height);
+                } else {
+                    continue;                            // static scene: no drawing, no upload
+                }
+                long advanced = System.nanoTime();
+
+                Slot s = free.take();
+                long t0 = System.nanoTime();
+                frame++;
+                history[(int) (frame % HISTORY)].set(changed);
+                // this buffer last saw frame s.frame; redraw everything that changed since then
+                Dirty area = s.damage;
+                area.clear();
+                if (s.frame < 0 || frame - s.frame >= HISTORY) {
+                    area.add(0, 0, width, height);
+                } else {
+                    for (long f = s.frame + 1; f <= frame; f++) area.add(history[(int) (f % HISTORY)]);
+                }
+                paint(s.px, area, step, row);
+                s.frame = frame;
+                ready.put(s);
+                if (!wakePosted.getAndSet(true)) Platform.runLater(() -> pending.set(true));
+
+                if (refine) continue;                    // one-off full-quality frame, not a sample
+
+                // frame budget; the cost is advance() plus drawing (the wait for a free buffer is not counted)
+                long cost = (advanced - started) + (System.nanoTime() - t0);
+                avg = samples++ == 0 ? cost : avg * 0.9 + cost * 0.1;
+                double budget = interval * BUDGET;
+                cheap = avg < budget / 3 ? cheap + 1 : 0;
+                if (samples >= SETTLE_FRAMES && avg > budget) {
+                    if (stepLevel < STEP.length - 1) {
+                        stepLevel++;
+                        redrawAll = true;
+                    } else if (fpsLevel < FPS.length - 1) {
+                        fpsLevel++;
+                    }
+                    samples = 0;
+                    cheap = 0;
+                } else if (cheap >= RECOVER_FRAMES) {
+                    // a higher rate halves the budget and finer blocks cost ~4x: step up only with room for it
+                    if (fpsLevel > 0) {
+                        fpsLevel--;
+                    } else if (stepLevel > 0 && avg < budget / 5) {
+                        stepLevel--;
+                        redrawAll = true;
+                    }
+                    samples = 0;
+                    cheap = 0;
+                }
+            }
+        } catch (InterruptedException e) {
+            // stopped
+        } catch (RuntimeException e) {
+            System.err.println("Live wallpaper " + generator.id() + " failed: " + e);
+        }
+    }
+
+    /** Draw each run of dirty tiles in a tile row, one generator row call per pixel row (or block row). */
+    private void paint(IntBuffer px, Dirty area, int step, int[] row) {
+        for (int ty = 0; ty < area.rows; ty++) {
+            int y0 = ty * Dirty.TILE;
+            int y1 = Math.min(height, y0 + Dirty.TILE);
+            for (int tx = 0; tx < area.cols; ) {
+                if (!area.tile(tx, ty)) {
+                    tx++;
+                    continue;
+                }
+                int from = tx;
+                while (tx < area.cols && area.tile(tx, ty)) tx++;
+                int x0 = from * Dirty.TILE;
+                int x1 = Math.min(width, tx * Dirty.TILE);
+                for (int y = y0; y < y1; y += step) {
+                    generator.paintRow(y, x0, x1, step, row);
+                    int rows = Math.min(step, y1 - y);
+                    for (int r = 0; r < rows; r++) {
+                        px.put((y + r) * width + x0, row, 0, x1 - x0);
+                    }
+                }
+            }
+        }
+    }
+}
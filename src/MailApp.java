@@ -0,0 +1,13 @@
+import javafx.stage.Stage;
+
+public class MailApp implements PhoneApp {
+    @Override public String id() { return "mail"; }
+    @Override public String label() { return "Mail"; }
+    @Override public String iconPath() { return "/icons/mail.png"; }
+    @Override public int order() { return 5; }
+
+    @Override
+    public void open(Phone phone, Stage owner) {
+        new MailWindow(owner).show();
+    }
+}
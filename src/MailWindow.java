@@ -0,0 +1,356 @@
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableListBase;
+import javafx.concurrent.Task;
+import javafx.geometry.Insets;
+import javafx.geometry.Orientation;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.*;
+import javafx.scene.layout.*;
+import javafx.stage.FileChooser;
+import javafx.stage.Modality;
+import javafx.stage.Stage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reader for local mbox archives. The list is a view over {@link MboxIndex}: rows are plain message
+ * numbers, and From/Subject/Date are read from the file only for rows that are on screen. Messages
+ * from the saved index are listed at once; while the rest of the file is indexed in the background,
+ * new rows are added as each part of the file is scanned.
+ */
+public class MailWindow {
+    private static final int BODY_LIMIT = 512 * 1024;
+    private static final int SUMMARY_CACHE = 500;
+    private static final Pattern ENCODED_WORD = Pattern.compile("=\\?([^?]+)\\?([BbQq])\\?([^?]*)\\?=");
+
+    private final Stage stage = new Stage();
+    private final Path lastFile = Paths.get(System.getProperty("user.home"), ".javafx_phone_demo", "mail", "last.txt");
+    private final ListView<Msg> list = new ListView<>();
+    private final TextArea reader = new TextArea();
+    private final Label status = new Label("No mailbox open.");
+    private final ProgressBar progress = new ProgressBar();
+    private MboxIndex index;
+    private MessageList messages;
+    private Task<Void> indexing;
+
+    /** Row item; {@code i} is the message number in the index. */
+    private record Msg(MboxIndex index, int i) { }
+
+    private record Summary(String from, String subject, String date) { }
+
+    // FX thread only
+    private final Map<Msg, Summary> summaries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Msg, Summary> eldest) {
+            return size() > SUMMARY_CACHE;
+        }
+    };
+
+    public MailWindow(Stage owner) {
+        stage.initOwner(owner);
+        stage.initModality(Modality.NONE);
+        stage.setTitle("Mail");
+
+        Button open = new Button("Open mbox…");
+        open.setOnAction(e -> {
+            FileChooser fc = new FileChooser();
+            fc.setTitle("Open Mailbox");
+            fc.getExtensionFilters().addAll(
+                    new FileChooser.ExtensionFilter("Mailboxes", "*.mbox", "*.mbx", "*"));
+            File f = fc.showOpenDialog(stage);
+            if (f != null) openMailbox(f.toPath());
+        });
+
+        progress.setVisible(false);
+        progress.setPrefWidth(100);
+        HBox top = new HBox(8, open, status, progress);
+        top.setAlignment(Pos.CENTER_LEFT);
+
+        list.setCellFactory(lv -> new MsgCell());
+        list.setFixedCellSize(52);
+        list.setPlaceholder(new Label("No messages."));
+        list.getSelectionModel().selectedItemProperty().addListener((o, ov, m) -> showMessage(m));
+
+        reader.setEditable(false);
+        reader.setWrapText(true);
+        reader.getStyleClass().add("mono");
+
+        SplitPane split = new SplitPane(list, reader);
+        split.setOrientation(Orientation.VERTICAL);
+        split.setDividerPositions(0.5);
+
+        BorderPane root = new BorderPane();
+        root.setTop(top);
+        root.setCenter(split);
+        BorderPane.setMargin(top, new Insets(10));
+
+        stage.setOnHidden(e -> {
+            cancelIndexing();
+            closeIndex();
+        });
+        stage.setScene(new Scene(root, 420, 640));
+
+        try {
+            if (Files.exists(lastFile)) {
+                Path last = Paths.get(Files.readString(lastFile, StandardCharsets.UTF_8).trim());
+                if (Files.isRegularFile(last)) openMailbox(last);
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to read last mailbox: " + e.getMessage());
+        }
+    }
+
+    public void show() { stage.show(); }
+
+    /**
+     * Open a mailbox and index (or re-index the appended tail of) it off the FX thread. The list shows
+     * up as soon as the saved index is loaded and grows while the scan runs.
+     */
+    private void openMailbox(Path mbox) {
+        cancelIndexing();
+        closeIndex();
+        status.setText("Indexing " + mbox.getFileName() + "…");
+        progress.setVisible(true);
+        Task<Void> task = new Task<>() {
+            @Override
+            protected Void call() throws IOException {
+                MboxIndex idx = MboxIndex.open(mbox);
+                Platform.runLater(() -> attach(this, idx));
+                // a stale task still scans to a clean stop; its index is closed by attach() or closeIndex()
+                idx.scan(p -> {
+                    updateProgress(p, 1);
+                    Platform.runLater(() -> refresh(idx));
+                }, this::isCancelled);
+                return null;
+            }
+        };
+        indexing = task;
+        progress.progressProperty().bind(task.progressProperty());
+        task.setOnSucceeded(e -> {
+            if (indexing != task) return;
+            indexing = null;
+            progress.progressProperty().unbind();
+            progress.setVisible(false);
+            refresh(index);
+            rememberMailbox(mbox);
+        });
+        task.setOnFailed(e -> {
+            if (indexing != task) return;
+            indexing = null;
+            progress.progressProperty().unbind();
+            progress.setVisible(false);
+            status.setText("Can't open " + mbox.getFileName() + ": " + task.getException().getMessage());
+        });
+        Thread t = new Thread(task, "mbox-index");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    /** Take over the index the task opened, or close it if the task was superseded or the window closed. */
+    private void attach(Task<Void> task, MboxIndex idx) {
+        if (indexing != task) {
+            closeQuietly(idx);
+            return;
+        }
+        index = idx;
+        messages = new MessageList(idx);
+        list.setItems(messages);
+        refresh(idx);
+    }
+
+    private void refresh(MboxIndex idx) {
+        if (idx == null || idx != index) return;
+        messages.update();
+        String suffix = indexing != null ? " (indexing…)" : "";
+        status.setText(idx.path().getFileName() + " — " + messages.size() + " messages" + suffix);
+    }
+
+    private void cancelIndexing() {
+        if (indexing == null) return;
+        indexing.cancel(false);    // no interrupt: that would close the channels mid-write
+        indexing = null;
+        progress.progressProperty().unbind();
+        progress.setVisible(false);
+    }
+
+    private void rememberMailbox(Path mbox) {
+        try {
+            Files.createDirectories(lastFile.getParent());
+            Files.writeString(lastFile, mbox.toAbsolutePath().toString(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            System.err.println("Failed to save last mailbox: " + e.getMessage());
+        }
+    }
+
+    private void closeIndex() {
+        if (index == null) return;
+        list.setItems(FXCollections.observableArrayList());
+        summaries.clear();
+        closeQuietly(index);
+        index = null;
+        messages = null;
+    }
+
+    private static void closeQuietly(MboxIndex idx) {
+        try {
+            idx.close();
+        } catch (IOException ignored) { }
+    }
+
+    /** Decode the selected message from the file; only now does its text reach the heap. */
+    private void showMessage(Msg m) {
+        if (m == null) {
+            reader.clear();
+            return;
+        }
+        String headers = m.index().headers(m.i());
+        String body = m.index().body(m.i(), BODY_LIMIT);
+        if (m.index().messageLength(m.i()) > BODY_LIMIT) body += "\n[… message truncated …]";
+        reader.setText(headers + body);
+        reader.positionCaret(0);
+    }
+
+    private Summary summary(Msg m) {
+        Summary s = summaries.get(m);
+        if (s == null) {
+            String h = m.index().headers(m.i());
+            s = new Summary(header(h, "From"), header(h, "Subject"), header(h, "Date"));
+            summaries.put(m, s);
+        }
+        return s;
+    }
+
+    // ---------------- header parsing ----------------
+
+    /** Value of the first {@code name:} header, unfolded and with RFC 2047 encoded-words decoded. */
+    private static String header(String headers, String name) {
+        String prefix = name.toLowerCase(Locale.ROOT) + ":";
+        int pos = 0;
+        while (pos < headers.length()) {
+            int eol = headers.indexOf('\n', pos);
+            if (eol < 0) eol = headers.length();
+            if (headers.regionMatches(true, pos, prefix, 0, prefix.length())) {
+                StringBuilder v = new StringBuilder(headers.substring(pos + prefix.length(), eol).trim());
+                // folded continuation lines start with whitespace
+                while (eol + 1 < headers.length() && (headers.charAt(eol + 1) == ' ' || headers.charAt(eol + 1) == '\t')) {
+                    int next = headers.indexOf('\n', eol + 1);
+                    if (next < 0) next = headers.length();
+                    v.append(' ').append(headers, eol + 1, next);
+                    eol = next;
+                }
+                return decodeWords(v.toString().replace("\r", "").trim());
+            }
+            pos = eol + 1;
+        }
+        return "";
+    }
+
+    private static String decodeWords(String s) {
+        if (!s.contains("=?")) return s;
+        // whitespace between adjacent encoded-words is not part of the text
+        Matcher m = ENCODED_WORD.matcher(s.replaceAll("\\?=\\s+=\\?", "?==?"));
+        StringBuilder out = new StringBuilder();
+        while (m.find()) {
+            String text;
+            try {
+                Charset cs = Charset.forName(m.group(1));
+                byte[] raw = m.group(2).equalsIgnoreCase("B")
+                        ? Base64.getMimeDecoder().decode(m.group(3))
+                        : quotedPrintable(m.group(3));
+                text = new String(raw, cs);
+            } catch (IllegalArgumentException e) {
+                text = m.group();
+            }
+            m.appendReplacement(out, Matcher.quoteReplacement(text));
+        }
+        m.appendTail(out);
+        return out.toString();
+    }
+
+    private static byte[] quotedPrintable(String s) {
+        byte[] out = new byte[s.length()];
+        int n = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '_') {
+                out[n++] = ' ';
+            } else if (c == '=' && i + 2 < s.length()) {
+                out[n++] = (byte) Integer.parseInt(s.substring(i + 1, i + 3), 16);
+                i += 2;
+            } else {
+                out[n++] = (byte) c;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    /**
+     * Rows over the index, newest (last in the file) first; rows are created on demand. The size only
+     * changes in {@link #update()}, which reports the newly indexed messages as added at the top.
+     */
+    private static final class MessageList extends ObservableListBase<Msg> {
+        private final MboxIndex idx;
+        private int shown;
+
+        MessageList(MboxIndex idx) { this.idx = idx; }
+
+        void update() {
+            int n = idx.size();
+            if (n <= shown) return;
+            int added = n - shown;
+            shown = n;
+            beginChange();
+            nextAdd(0, added);
+            endChange();
+        }
+
+        @Override public Msg get(int row) { return new Msg(idx, shown - 1 - row); }
+
+        @Override public int size() { return shown; }
+    }
+
+    private final class MsgCell extends ListCell<Msg> {
+        private final Label subject = new Label();
+        private final Label from = new Label();
+        private final Label date = new Label();
+        private final VBox box;
+
+        MsgCell() {
+            subject.getStyleClass().add("mail-subject");
+            from.getStyleClass().add("mail-meta");
+            date.getStyleClass().add("mail-date");
+            Region gap = new Region();
+            HBox.setHgrow(gap, Priority.ALWAYS);
+            box = new VBox(2, subject, new HBox(from, gap, date));
+        }
+
+        @Override
+        protected void updateItem(Msg m, boolean empty) {
+            super.updateItem(m, empty);
+            if (empty || m == null) {
+                setGraphic(null);
+                return;
+            }
+            Summary s = summary(m);
+            subject.setText(s.subject().isEmpty() ? "(no subject)" : s.subject());
+            from.setText(s.from());
+            date.setText(s.date());
+            setGraphic(box);
+        }
+    }
+}
@@ -0,0 +1,315 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.function.BooleanSupplier;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Offset index over an mbox file. Message starts ("From " at the start of a line) and header lengths
+ * are found by one pass over the file through read-only memory maps; the index (12 bytes per message)
+ * is saved under ~/.javafx_phone_demo/mail and extended incrementally, so re-opening only scans bytes
+ * appended since the last time. Headers and bodies are read from the file on demand.
+ * <p>
+ * {@link #scan} runs on one background thread while other threads read: {@link #size()} only counts
+ * messages whose extent is known, and grows as the scan goes.
+ */
+public class MboxIndex implements AutoCloseable {
+    private static final int MAGIC = 0x4D425849;       // "MBXI"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;        // magic, version, count, scanned, fingerprint, pad
+    private static final int ENTRY_BYTES = 12;         // long start, int header length
+    private static final long WINDOW = 1L << 30;       // map at most 1 GB at a time
+    private static final int PROGRESS_EVERY = 64 * 1024 * 1024;
+    private static final byte[] FROM = "From ".getBytes(StandardCharsets.US_ASCII);
+    private static final int SAVE_EVERY = 100_000;     // flush the index every N new messages
+    private static final int MAX_HEADER = 16 * 1024;
+
+    private static final Path INDEX_DIR = Paths.get(System.getProperty("user.home"), ".javafx_phone_demo", "mail");
+
+    /**
+     * Messages [0, count) are complete; the last one ends at {@code end}. Carries the arrays the entries
+     * are in, so a reader never sees arrays the scanner swapped in after this was published.
+     */
+    private record Published(int count, long end, long[] starts, int[] headerLens) { }
+
+    private final Path mbox;
+    private final FileChannel channel;
+    private final Path indexFile;
+    private long size;
+    private long fingerprint;
+    private long resumeAt;
+    private volatile Published published;
+
+    // index state, scanning thread only: starts[i] / headerLens[i] for i < count. Other threads read a
+    // Published snapshot; entries below its count are final and visible through the volatile write.
+    private long[] starts = new long[1024];
+    private int[] headerLens = new int[1024];
+    private int count;
+
+    private MboxIndex(Path mbox) throws IOException {
+        this.mbox = mbox;
+        this.indexFile = indexFile(mbox);
+        this.channel = FileChannel.open(mbox, StandardOpenOption.READ);
+    }
+
+    /**
+     * Open {@code mbox} with its saved index, if that is still valid. Messages in the saved index are
+     * available right away; call {@link #scan} to index what was appended since (or everything).
+     */
+    public static MboxIndex open(Path mbox) throws IOException {
+        MboxIndex idx = new MboxIndex(mbox);
+        try {
+            idx.size = idx.channel.size();
+            idx.fingerprint = idx.fingerprint();
+            idx.resumeAt = idx.load();
+            idx.publish(idx.count, idx.resumeAt);
+            return idx;
+        } catch (IOException | RuntimeException e) {
+            idx.close();
+            throw e;
+        }
+    }
+
+    public Path path() { return mbox; }
+
+    /** Messages indexed so far. Any thread. */
+    public int size() { return published.count(); }
+
+    public long fileSize() { return size; }
+
+    /** Raw header block of message {@code i}, decoded as ISO-8859-1. */
+    public String headers(int i) {
+        Published p = snapshot(i);
+        int len = Math.min(p.headerLens()[i], MAX_HEADER);
+        return decode(p.starts()[i], len);
+    }
+
+    /** Full message body (after the blank line), up to {@code maxBytes}. */
+    public String body(int i, int maxBytes) {
+        Published p = snapshot(i);
+        long from = p.starts()[i] + p.headerLens()[i];
+        long len = end(p, i) - from;
+        return new String(bytes(from, (int) Math.min(len, maxBytes)), StandardCharsets.UTF_8);
+    }
+
+    public long messageLength(int i) {
+        Published p = snapshot(i);
+        return end(p, i) - p.starts()[i];
+    }
+
+    /** The published state, checked to hold message {@code i}; one volatile read per call. */
+    private Published snapshot(int i) {
+        Published p = published;
+        if (i < 0 || i >= p.count()) throw new IndexOutOfBoundsException(i);
+        return p;
+    }
+
+    private static long end(Published p, int i) {
+        return i + 1 < p.count() ? p.starts()[i + 1] : p.end();
+    }
+
+    /** Make messages [0, count) visible to other threads. Scanning thread only. */
+    private void publish(int count, long end) {
+        published = new Published(count, end, starts, headerLens);
+    }
+
+    private String decode(long from, int len) {
+        return new String(bytes(from, len), StandardCharsets.ISO_8859_1);
+    }
+
+    /** Positional read; these are a few KB per list row, too small to be worth a mapping each. */
+    private byte[] bytes(long from, int len) {
+        try {
+            ByteBuffer buf = ByteBuffer.allocate(len);
+            while (buf.hasRemaining()) {
+                if (channel.read(buf, from + buf.position()) < 0) break;
+            }
+            return buf.position() == len ? buf.array() : Arrays.copyOf(buf.array(), buf.position());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // ---------------- index file ----------------
+
+    private static Path indexFile(Path mbox) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1")
+                    .digest(mbox.toAbsolutePath().toString().getBytes(StandardCharsets.UTF_8));
+            return INDEX_DIR.resolve(HexFormat.of().formatHex(digest) + ".idx");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Hash of the first bytes of the mbox, to notice a file that was replaced rather than appended to. */
+    private long fingerprint() throws IOException {
+        ByteBuffer head = ByteBuffer.allocate((int) Math.min(size, 4096));
+        channel.read(head, 0);
+        return Arrays.hashCode(head.array()) & 0xFFFFFFFFL | (long) head.position() << 32;
+    }
+
+    /**
+     * Read a saved index. Returns the offset to resume scanning from: the start of the last indexed
+     * message (it may have been incomplete), or 0 when there is no usable index.
+     */
+    private long load() throws IOException {
+        if (!Files.exists(indexFile)) return 0;
+        try (FileChannel in = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            ByteBuffer head = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            in.read(head, 0);
+            head.flip();
+            if (head.remaining() < HEADER_BYTES || head.getInt() != MAGIC || head.getInt() != VERSION) return 0;
+            int saved = head.getInt();
+            long scanned = head.getLong();
+            long savedFingerprint = head.getLong();
+            if (savedFingerprint != fingerprint || scanned > size || saved <= 0) return 0;
+
+            ByteBuffer entries = in.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES, (long) saved * ENTRY_BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            ensureCapacity(saved);
+            for (int i = 0; i < saved; i++) {
+                starts[i] = entries.getLong();
+                headerLens[i] = entries.getInt();
+            }
+            count = saved - 1;           // re-scan the last message, it may have grown
+            if (!startsMessage(starts[count])) {
+                // rewritten in place (e.g. compacted, then appended to past the old length): offsets are stale
+                count = 0;
+                return 0;
+            }
+            return starts[count];
+        }
+    }
+
+    /** Whether a message starts at {@code offset}: "From " at the start of a line. */
+    private boolean startsMessage(long offset) throws IOException {
+        if (offset + FROM.length > size) return false;
+        long from = Math.max(0, offset - 1);
+        byte[] b = bytes(from, (int) (offset - from) + FROM.length);
+        if (offset > 0 && b[0] != '\n') return false;
+        return Arrays.equals(b, b.length - FROM.length, b.length, FROM, 0, FROM.length);
+    }
+
+    /** Write entries [from, count) and the header; earlier entries are already on disk. */
+    private void save(long scanned, int from) throws IOException {
+        Files.createDirectories(indexFile.getParent());
+        try (FileChannel out = FileChannel.open(indexFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            ByteBuffer buf = ByteBuffer.allocate((count - from) * ENTRY_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            for (int i = from; i < count; i++) {
+                buf.putLong(starts[i]).putInt(headerLens[i]);
+            }
+            buf.flip();
+            out.write(buf, HEADER_BYTES + (long) from * ENTRY_BYTES);
+            out.truncate(HEADER_BYTES + (long) count * ENTRY_BYTES);
+
+            ByteBuffer head = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            head.putInt(MAGIC).putInt(VERSION).putInt(count).putLong(scanned).putLong(fingerprint);
+            head.flip();
+            out.write(head, 0);
+        }
+    }
+
+    // ---------------- scanning ----------------
+
+    /**
+     * Scan the part of the file the saved index doesn't cover for message starts and header ends. Runs
+     * over 1 GB read-only maps; nothing of the message text is copied. Completed messages are published
+     * to {@link #size()} every 64 MB, before {@code progress} is called; the index is saved every
+     * {@value #SAVE_EVERY} new messages. Stops early (saving what it has) once {@code cancelled} is
+     * true. Incomplete trailing state (a message whose header end hasn't been seen yet) is recorded
+     * with the header running to the end of the file. Call once, from one thread.
+     */
+    public void scan(DoubleConsumer progress, BooleanSupplier cancelled) throws IOException {
+        long from = resumeAt;
+        int savedUpTo = count;
+        boolean lineStart = true;       // offset 0 or just after '\n'
+        boolean inHeader = false;
+        boolean blankSoFar = false;     // current line holds nothing but an optional '\r'
+        int match = 0;                  // progress through "From " at a line start
+
+        for (long base = from; base < size; base += WINDOW) {
+            long len = Math.min(WINDOW, size - base);
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, base, len);
+            for (int off = 0; off < len; off += PROGRESS_EVERY) {
+                int n = (int) Math.min(PROGRESS_EVERY, len - off);
+                long at = base + off;
+                for (int i = 0; i < n; i++) {
+                    byte b = map.get(off + i);
+
+                    if (match > 0) {
+                        match = b == FROM[match] ? match + 1 : 0;
+                        if (match == FROM.length) {
+                            long start = at + i - (FROM.length - 1);
+                            if (inHeader) headerLens[count - 1] = clampInt(start - starts[count - 1]);
+                            if (count - savedUpTo >= SAVE_EVERY) {
+                                save(start, savedUpTo);    // entries up to here are complete
+                                savedUpTo = count;
+                            }
+                            ensureCapacity(count + 1);
+                            starts[count] = start;
+                            headerLens[count] = 0;
+                            count++;
+                            inHeader = true;
+                            match = 0;
+                        }
+                    } else if (lineStart && b == 'F') {
+                        match = 1;
+                    }
+
+                    if (b == '\n') {
+                        if (inHeader && blankSoFar) {
+                            headerLens[count - 1] = clampInt(at + i + 1 - starts[count - 1]);
+                            inHeader = false;
+                        }
+                        lineStart = true;
+                        blankSoFar = true;
+                    } else {
+                        lineStart = false;
+                        if (b != '\r') blankSoFar = false;
+                    }
+                }
+                // the newest message may still be growing; everything before it is final
+                if (count > 0) publish(count - 1, starts[count - 1]);
+                if (progress != null) progress.accept((double) (at + n - from) / Math.max(1, size - from));
+                if (cancelled.getAsBoolean()) {
+                    if (count > 0) save(starts[count - 1], savedUpTo);
+                    return;
+                }
+            }
+        }
+        if (inHeader && count > 0) {
+            headerLens[count - 1] = (int) Math.min(MAX_HEADER, size - starts[count - 1]);
+        }
+        save(size, savedUpTo);
+        publish(count, size);
+    }
+
+    private static int clampInt(long v) {
+        return (int) Math.min(Integer.MAX_VALUE, v);
+    }
+
+    private void ensureCapacity(int n) {
+        if (n <= starts.length) return;
+        int cap = Math.max(n, starts.length * 2);
+        starts = Arrays.copyOf(starts, cap);
+        headerLens = Arrays.copyOf(headerLens, cap);
+    }
+}
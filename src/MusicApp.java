@@ -0,0 +1,13 @@
+import javafx.stage.Stage;
+
+public class MusicApp implements PhoneApp {
+    @Override public String id() { return "music"; }
+    @Override public String label() { return "Music"; }
+    @Override public String iconPath() { return "/icons/music.png"; }
+    @Override public int order() { return 4; }
+
+    @Override
+    public void open(Phone phone, Stage owner) {
+        Phone.info(owner, "Demo only");
+    }
+}
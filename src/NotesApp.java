@@ -0,0 +1,13 @@
+import javafx.stage.Stage;
+
+public class NotesApp implements PhoneApp {
+    @Override public String id() { return "notes"; }
+    @Override public String label() { return "Notes"; }
+    @Override public String iconPath() { return "/icons/notes.png"; }
+    @Override public int order() { return 1; }
+
+    @Override
+    public void open(Phone phone, Stage owner) {
+        new NotesWindow(owner).show();
+    }
+}
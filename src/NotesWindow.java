@@ -71,19 +71,39 @@ public class NotesWindow {
     private void ensureStoreDir() throws IOException { Files.createDirectories(store.getParent()); }
 
     private void persist() {
+        PhoneEvents.NotesIO ev = new PhoneEvents.NotesIO();
+        ev.begin();
         try {
             ensureStoreDir();
             Files.write(store, list.getItems(), StandardCharsets.UTF_8);
+            ev.end();
+            if (ev.shouldCommit()) {
+                ev.operation = "persist";
+                ev.path = store.toString();
+                ev.notes = list.getItems().size();
+                ev.bytes = Files.size(store);
+                ev.commit();
+            }
         } catch (IOException e) {
             new Alert(Alert.AlertType.ERROR, "Failed to save notes: " + e.getMessage(), ButtonType.OK).showAndWait();
         }
     }
 
     private void loadFromFile() {
+        PhoneEvents.NotesIO ev = new PhoneEvents.NotesIO();
+        ev.begin();
         try {
             if (Files.exists(store)) {
                 var lines = Files.readAllLines(store, StandardCharsets.UTF_8);
                 list.getItems().setAll(lines);
+                ev.end();
+                if (ev.shouldCommit()) {
+                    ev.operation = "load";
+                    ev.path = store.toString();
+                    ev.notes = lines.size();
+                    ev.bytes = Files.size(store);
+                    ev.commit();
+                }
             }
         } catch (IOException ignored) { }
     }
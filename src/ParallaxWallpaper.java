@@ -0,0 +1,100 @@
+/**
+ * Layered hills under a fixed sky and sun. The wallpaper offsets move each layer by its depth, so
+ * dragging the Settings sliders gives a parallax effect. Nothing animates on its own: frames are only
+ * drawn while the offsets change, and then only the band the hills occupy.
+ */
+public class ParallaxWallpaper implements WallpaperGenerator {
+    private static final double[] DEPTH = {0.15, 0.35, 0.65, 1.0};
+    private static final double[] BASE = {0.56, 0.64, 0.74, 0.86};     // hill line, fraction of height
+    private static final double[] AMPLITUDE = {0.07, 0.06, 0.05, 0.04};
+    private static final int[] COLOR = {0xFF7A8FB8, 0xFF566C99, 0xFF364B73, 0xFF1C2A47};
+    private static final int SKY_TOP = 0xFF1E3A70;
+    private static final int SKY_BOTTOM = 0xFFF2A97E;
+    private static final int SUN = 0xFFFFE7B0;
+    private static final double MAX_OFFSET = 320;                       // layout px, covers the sliders
+
+    private int width;
+    private int height;
+    private int margin;                      // extra columns on each side of the hill profiles
+    private int[] sky;
+    private int[][] top;                     // per layer: first hill row for each (shifted) column
+    private int[] minTop;
+    private double sunX, sunY, sunR, glowR;
+    private final int[] shiftX = new int[DEPTH.length];
+    private final int[] shiftY = new int[DEPTH.length];
+    private boolean drawn;
+
+    @Override public String id() { return "parallax"; }
+
+    @Override public String label() { return "Hills (parallax)"; }
+
+    @Override
+    public void init(int width, int height, double scale) {
+        this.width = width;
+        this.height = height;
+        margin = (int) Math.ceil(MAX_OFFSET * scale);
+        sky = new int[height];
+        for (int row = 0; row < height; row++) {
+            sky[row] = WallpaperGenerator.mix(SKY_TOP, SKY_BOTTOM, Math.pow(row / (double) height, 1.4));
+        }
+        top = new int[DEPTH.length][width + 2 * margin];
+        minTop = new int[DEPTH.length];
+        for (int l = 0; l < DEPTH.length; l++) {
+            minTop[l] = height;
+            for (int c = 0; c < top[l].length; c++) {
+                double u = (c - margin) / (double) width;
+                double wave = Math.sin(u * (3 + l) * 2.1 + l * 1.7) * 0.6
+                        + Math.sin(u * (7 + 2 * l) * 1.3 + l) * 0.3
+                        + Math.sin(u * (17 + l) + l * 0.5) * 0.1;
+                top[l][c] = (int) (height * (BASE[l] - AMPLITUDE[l] * wave));
+                minTop[l] = Math.min(minTop[l], top[l][c]);
+            }
+        }
+        sunX = width * 0.3;
+        sunY = height * 0.5;
+        sunR = 34 * scale;
+        glowR = sunR * 3;
+    }
+
+    @Override
+    public void advance(double seconds, double offsetX, double offsetY, LiveWallpaper.Dirty dirty) {
+        double ox = Math.max(-margin, Math.min(margin, offsetX));
+        double oy = Math.max(-margin, Math.min(margin, offsetY));
+        boolean moved = !drawn;
+        int band = height;
+        for (int l = 0; l < DEPTH.length; l++) {
+            int nx = (int) Math.round(ox * DEPTH[l]);
+            int ny = (int) Math.round(oy * DEPTH[l] * 0.4);
+            if (nx != shiftX[l] || ny != shiftY[l]) moved = true;
+            band = Math.min(band, minTop[l] + Math.min(ny, shiftY[l]));
+            shiftX[l] = nx;
+            shiftY[l] = ny;
+        }
+        drawn = true;
+        // the sky and sun are at infinity and never move: only the hill band needs redrawing
+        if (moved) dirty.add(0, Math.max(0, band), width, height);
+    }
+
+    @Override
+    public void paintRow(int row, int x0, int x1, int step, int[] out) {
+        int n = x1 - x0;
+        int bg = sky[row];
+        double dy = row - sunY;
+        boolean nearSun = Math.abs(dy) < glowR;
+        for (int i = 0; i < n; i += step) {
+            int px = x0 + i;
+            int c = bg;
+            if (nearSun) {
+                double d = Math.hypot(px - sunX, dy);
+                if (d < sunR) c = SUN;
+                else if (d < glowR) c = WallpaperGenerator.mix(bg, SUN, Math.pow(1 - (d - sunR) / (glowR - sunR), 2) * 0.5);
+            }
+            for (int l = 0; l < DEPTH.length; l++) {
+                int col = Math.max(0, Math.min(top[l].length - 1, px - shiftX[l] + margin));
+                if (row >= top[l][col] + shiftY[l]) c = COLOR[l];
+            }
+            out[i] = c;
+        }
+        WallpaperGenerator.fillBlocks(out, n, step);
+    }
+}
@@ -0,0 +1,116 @@
+import java.util.Random;
+
+/**
+ * Glowing particles drifting over a night gradient. Particles sit at different depths, so the
+ * wallpaper offsets move near ones more than far ones. Only the tiles around each particle's
+ * old and new position are redrawn.
+ */
+public class ParticlesWallpaper implements WallpaperGenerator {
+    private static final int COUNT = 70;
+    private static final int TOP = 0xFF0B1026;
+    private static final int BOTTOM = 0xFF2A1B4A;
+
+    private int width;
+    private int height;
+    private int[] sky;                       // one color per row
+    private final double[] x = new double[COUNT];
+    private final double[] y = new double[COUNT];
+    private final double[] vx = new double[COUNT];
+    private final double[] vy = new double[COUNT];
+    private final double[] r = new double[COUNT];
+    private final double[] depth = new double[COUNT];
+    private final double[] twinkle = new double[COUNT];
+    private final int[] color = new int[COUNT];
+    // where each particle is drawn this frame (screen position and brightness)
+    private final double[] sx = new double[COUNT];
+    private final double[] sy = new double[COUNT];
+    private final double[] glow = new double[COUNT];
+    private double last = -1;
+
+    @Override public String id() { return "particles"; }
+
+    @Override public String label() { return "Fireflies"; }
+
+    @Override
+    public void init(int width, int height, double scale) {
+        this.width = width;
+        this.height = height;
+        sky = new int[height];
+        for (int row = 0; row < height; row++) sky[row] = WallpaperGenerator.mix(TOP, BOTTOM, row / (double) height);
+
+        Random rnd = new Random(7);
+        int[] palette = {0xFFFFE08A, 0xFFB5F5A0, 0xFF9AD8FF, 0xFFFFB3D9};
+        for (int i = 0; i < COUNT; i++) {
+            depth[i] = 0.2 + 0.8 * rnd.nextDouble();
+            r[i] = (3 + 7 * depth[i]) * scale;
+            x[i] = rnd.nextDouble() * width;
+            y[i] = rnd.nextDouble() * height;
+            double speed = (8 + 22 * depth[i]) * scale;   // px per second
+            double dir = rnd.nextDouble() * Math.PI * 2;
+            vx[i] = Math.cos(dir) * speed;
+            vy[i] = Math.sin(dir) * speed;
+            twinkle[i] = rnd.nextDouble() * Math.PI * 2;
+            color[i] = palette[rnd.nextInt(palette.length)];
+        }
+    }
+
+    @Override
+    public void advance(double seconds, double offsetX, double offsetY, LiveWallpaper.Dirty dirty) {
+        double dt = last < 0 ? 0 : Math.min(0.1, seconds - last);
+        last = seconds;
+        for (int i = 0; i < COUNT; i++) {
+            if (glow[i] > 0) addBounds(dirty, i);        // erase the old position
+            x[i] = wrap(x[i] + vx[i] * dt, width, r[i]);
+            y[i] = wrap(y[i] + vy[i] * dt, height, r[i]);
+            sx[i] = x[i] + offsetX * depth[i] * 0.5;
+            sy[i] = y[i] + offsetY * depth[i] * 0.5;
+            glow[i] = 0.55 + 0.45 * Math.sin(twinkle[i] + seconds * (1 + depth[i]));
+            addBounds(dirty, i);
+        }
+    }
+
+    private void addBounds(LiveWallpaper.Dirty dirty, int i) {
+        int rr = (int) Math.ceil(r[i]) + 1;
+        dirty.add((int) sx[i] - rr, (int) sy[i] - rr, (int) sx[i] + rr + 1, (int) sy[i] + rr + 1);
+    }
+
+    private static double wrap(double v, int size, double margin) {
+        if (v < -margin) return v + size + 2 * margin;
+        if (v > size + margin) return v - size - 2 * margin;
+        return v;
+    }
+
+    @Override
+    public void paintRow(int row, int x0, int x1, int step, int[] out) {
+        int n = x1 - x0;
+        int bg = sky[row];
+        for (int i = 0; i < n; i += step) out[i] = bg;
+
+        for (int i = 0; i < COUNT; i++) {
+            double dy = row - sy[i];
+            double rr = r[i];
+            if (dy <= -rr || dy >= rr) continue;
+            double half = Math.sqrt(rr * rr - dy * dy);
+            int lo = Math.max(x0, (int) Math.ceil(sx[i] - half));
+            int hi = Math.min(x1, (int) Math.floor(sx[i] + half) + 1);
+            if (lo >= hi) continue;
+            // first computed column at or after lo
+            int first = x0 + (lo - x0 + step - 1) / step * step;
+            int c = color[i];
+            int cr = (c >> 16) & 0xFF, cg = (c >> 8) & 0xFF, cb = c & 0xFF;
+            double inv = 1 / (rr * rr);
+            for (int px = first; px < hi; px += step) {
+                double dx = px - sx[i];
+                double f = 1 - (dx * dx + dy * dy) * inv;
+                if (f <= 0) continue;
+                double a = f * f * glow[i];
+                int o = out[px - x0];
+                int or = Math.min(255, ((o >> 16) & 0xFF) + (int) (cr * a));
+                int og = Math.min(255, ((o >> 8) & 0xFF) + (int) (cg * a));
+                int ob = Math.min(255, (o & 0xFF) + (int) (cb * a));
+                out[px - x0] = 0xFF000000 | or << 16 | og << 8 | ob;
+            }
+        }
+        WallpaperGenerator.fillBlocks(out, n, step);
+    }
+}
@@ -0,0 +1,243 @@
+import com.sun.management.GarbageCollectionNotificationInfo;
+import javafx.animation.AnimationTimer;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Status-bar performance overlay: FPS and worst pulse gap (AnimationTimer), heap used and allocation
+ * rate (per-thread allocation counters), and recent GC pauses (GC notifications). Cycles of concurrent
+ * collectors are counted but not shown as pauses. Per-pulse work is a few long compares; labels and the
+ * rolling history are only updated twice a second, and nothing runs while the overlay is hidden.
+ */
+public class PerfOverlay extends VBox {
+    private static final long SAMPLE_NS = 500_000_000L;
+    private static final int HISTORY = 1200;       // 10 minutes at 2 samples/s
+    private static final int RECENT_GCS = 3;
+
+    /** One row of the rolling history. */
+    public record Sample(long epochMillis, double fps, double worstPulseMs, long heapUsed,
+                         double allocMBps, long gcCount, long gcPauseMs) { }
+
+    private final Stage owner;
+    private final Label fpsLbl = new Label();
+    private final Label heapLbl = new Label();
+    private final Label gcLbl = new Label();
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final AnimationTimer pulses = new AnimationTimer() {
+        @Override
+        public void handle(long now) { onPulse(now); }
+    };
+
+    // pulse stats for the current sample window (FX thread only)
+    private long lastPulse;
+    private long windowStart;
+    private int frames;
+    private long worstGap;
+    private Map<Long, Long> lastAllocated = new HashMap<>();   // thread id -> bytes allocated so far
+
+    // written by the GC notification thread, drained on the FX thread
+    private final Object gcLock = new Object();
+    private long gcCount;
+    private long gcPauseMs;
+    private final String[] recentGcs = new String[RECENT_GCS];
+    private int recentGcHead;
+
+    private final Sample[] history = new Sample[HISTORY];
+    private int historyHead;
+    private int historySize;
+
+    private final NotificationListener gcListener = this::onGc;
+
+    public PerfOverlay(Stage owner) {
+        super(1);
+        this.owner = owner;
+        setAlignment(Pos.CENTER_LEFT);
+        getStyleClass().add("perf-overlay");
+
+        Button export = new Button("Export");
+        export.setOnAction(e -> exportHistory());
+
+        getChildren().addAll(fpsLbl, heapLbl, gcLbl, export);
+        setVisible(false);
+        setManaged(false);
+    }
+
+    public void toggle() {
+        if (isVisible()) hide(); else show();
+    }
+
+    public void show() {
+        setVisible(true);
+        setManaged(true);
+        lastPulse = 0;
+        windowStart = System.nanoTime();
+        frames = 0;
+        worstGap = 0;
+        allocatedSinceLastSample();
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (gc instanceof NotificationEmitter emitter) {
+                emitter.addNotificationListener(gcListener, null, null);
+            }
+        }
+        pulses.start();
+    }
+
+    public void hide() {
+        pulses.stop();
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (gc instanceof NotificationEmitter emitter) {
+                try {
+                    emitter.removeNotificationListener(gcListener);
+                } catch (javax.management.ListenerNotFoundException ignored) { }
+            }
+        }
+        setVisible(false);
+        setManaged(false);
+    }
+
+    private void onPulse(long now) {
+        if (lastPulse != 0) {
+            long gap = now - lastPulse;
+            if (gap > worstGap) worstGap = gap;
+        }
+        lastPulse = now;
+        frames++;
+        if (now - windowStart >= SAMPLE_NS) {
+            sample(now);
+        }
+    }
+
+    private void sample(long now) {
+        double secs = (now - windowStart) / 1e9;
+        double fps = frames / secs;
+        double worstMs = worstGap / 1e6;
+
+        long heapUsed = memory.getHeapMemoryUsage().getUsed();
+        long count, pause;
+        String[] gcs = new String[RECENT_GCS];
+        synchronized (gcLock) {
+            count = gcCount;
+            pause = gcPauseMs;
+            for (int i = 0; i < RECENT_GCS; i++) {
+                gcs[i] = recentGcs[(recentGcHead - 1 - i + RECENT_GCS) % RECENT_GCS];
+            }
+        }
+        double allocMBps = allocatedSinceLastSample() / secs / (1024.0 * 1024.0);
+
+        Sample s = new Sample(System.currentTimeMillis(), fps, worstMs, heapUsed, allocMBps, count, pause);
+        history[historyHead] = s;
+        historyHead = (historyHead + 1) % HISTORY;
+        if (historySize < HISTORY) historySize++;
+
+        fpsLbl.setText(String.format(Locale.US, "%4.0f fps  worst %5.1f ms", fps, worstMs));
+        heapLbl.setText(String.format(Locale.US, "heap %5.1f MB  alloc %5.1f MB/s", heapUsed / (1024.0 * 1024.0), allocMBps));
+        StringBuilder gcText = new StringBuilder("gc");
+        for (String g : gcs) {
+            if (g != null) gcText.append(' ').append(g);
+        }
+        gcLbl.setText(gcText.toString());
+
+        windowStart = now;
+        frames = 0;
+        worstGap = 0;
+    }
+
+    /**
+     * Bytes allocated by live threads since the previous call, from the JVM's per-thread counters (the
+     * same ones the render harness reads), so the rate doesn't depend on when GCs run. What a thread
+     * allocated after the last sample is lost if it ends before the next one.
+     */
+    private long allocatedSinceLastSample() {
+        long[] ids = threads.getAllThreadIds();
+        long[] bytes = threads.getThreadAllocatedBytes(ids);
+        Map<Long, Long> current = new HashMap<>(ids.length * 2);
+        long total = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (bytes[i] < 0) continue;    // thread ended, or counting unsupported
+            current.put(ids[i], bytes[i]);
+            total += bytes[i] - lastAllocated.getOrDefault(ids[i], 0L);
+        }
+        lastAllocated = current;
+        return total;
+    }
+
+    private void onGc(Notification n, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(n.getType())) return;
+        GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) n.getUserData());
+        boolean pause = isPause(info.getGcName(), info.getGcAction());
+        long duration = info.getGcInfo().getDuration();
+        synchronized (gcLock) {
+            gcCount++;
+            if (!pause) return;
+            gcPauseMs += duration;
+            recentGcs[recentGcHead] = duration + "ms";
+            recentGcHead = (recentGcHead + 1) % RECENT_GCS;
+        }
+    }
+
+    /**
+     * Whether a notification's duration is a stop-the-world pause. Young/old collections of the
+     * stop-the-world collectors and the "... Pauses" beans of ZGC/Shenandoah are; the "... Cycles" beans
+     * report whole concurrent cycles (action "end of GC cycle"), which mostly run beside the application.
+     */
+    static boolean isPause(String gcName, String gcAction) {
+        if (gcName.endsWith("Cycles")) return false;
+        return gcAction.equals("end of minor GC") || gcAction.equals("end of major GC")
+                || gcAction.contains("pause");
+    }
+
+    /** Rolling history, oldest first. */
+    public List<Sample> history() {
+        List<Sample> out = new ArrayList<>(historySize);
+        int start = (historyHead - historySize + HISTORY) % HISTORY;
+        for (int i = 0; i < historySize; i++) {
+            out.add(history[(start + i) % HISTORY]);
+        }
+        return out;
+    }
+
+    /** Write the rolling history as CSV next to the other demo files. */
+    private void exportHistory() {
+        String stamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path out = Paths.get(System.getProperty("user.home"), ".javafx_phone_demo", "perf-" + stamp + ".csv");
+        List<String> lines = new ArrayList<>(historySize + 1);
+        lines.add("epoch_ms,fps,worst_pulse_ms,heap_used_bytes,alloc_mb_per_s,gc_count,gc_pause_ms_total");
+        for (Sample s : history()) {
+            lines.add(String.format(Locale.US, "%d,%.1f,%.2f,%d,%.2f,%d,%d",
+                    s.epochMillis(), s.fps(), s.worstPulseMs(), s.heapUsed(), s.allocMBps(), s.gcCount(), s.gcPauseMs()));
+        }
+        try {
+            Files.createDirectories(out.getParent());
+            Files.write(out, lines, StandardCharsets.UTF_8);
+            Phone.info(owner, "Performance history saved to " + out);
+        } catch (IOException e) {
+            System.err.println("Failed to export performance history: " + e.getMessage());
+        }
+    }
+}
@@ -1,39 +1,43 @@
-import javafx.animation.Animation;
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
 import javafx.application.Application;
+import javafx.beans.InvalidationListener;
+import javafx.collections.ListChangeListener;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.geometry.Rectangle2D;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
-import javafx.scene.control.Button;
 import javafx.scene.control.ButtonType;
 import javafx.scene.control.Label;
 import javafx.scene.effect.DropShadow;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
-import javafx.scene.image.PixelReader;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyCodeCombination;
 import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
+import javafx.scene.shape.Shape;
 import javafx.stage.Modality;
+import javafx.stage.Screen;
 import javafx.stage.Stage;
-import javafx.util.Duration;
+import javafx.stage.Window;
 
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
 
 public class Phone extends Application {
     private static final double PHONE_W = 420;
     private static final double PHONE_H = 820;
+    private static final String LIVE_PREFIX = "live:";   // saved wallpaper value for live wallpapers
 
     // live wallpaper offsets (px)
     private double wallpaperOffsetX = 0;
@@ -48,15 +52,20 @@ public class Phone extends Application {
     // UI
     private VBox phoneBody;
     private ImageView wallpaperView;      // background layer
+    private LiveWallpaper liveWallpaper;  // animated layer drawn over it, when one is chosen
     private StackPane layeredPhone;       // clipped rounded-rect "device"
+    private Region deviceShadow;          // outline shadow, shown once a wallpaper fills the device
+    private PerfOverlay perfOverlay;      // FPS / heap / GC readout, toggled with F3 or double-click on the time
 
     @Override
     public void start(Stage stage) {
         Pane phone = buildPhone(stage);
         Scene scene = new Scene(phone);
+        scene.getAccelerators().put(new KeyCodeCombination(KeyCode.F3), perfOverlay::toggle);
         stage.setTitle("Jordan's IPhone");
         stage.setResizable(false);
         stage.setScene(scene);
+        Theme.get().attach();   // styles this and every later window from the shared stylesheets
         stage.show();
 
         // Load last wallpaper AFTER UI is built
@@ -70,7 +79,7 @@ public class Phone extends Application {
         phoneBody = new VBox(16);
         phoneBody.setPrefSize(PHONE_W, PHONE_H);
         phoneBody.setMaxSize(PHONE_W, PHONE_H);
-        phoneBody.setStyle("-fx-background-color: transparent;"); // transparent so wallpaper shows
+        phoneBody.getStyleClass().add("phone-body"); // transparent so wallpaper shows
 
         // ---- wallpaper as real ImageView (cover + center + nudges) ----
         wallpaperView = new ImageView();
@@ -79,36 +88,32 @@ public class Phone extends Application {
         StackPane.setAlignment(wallpaperView, Pos.CENTER);
 
         // status time
-        Label timeLbl = new Label(nowHHmm());
-        timeLbl.setStyle("-fx-text-fill: white; -fx-font-size: 48; -fx-font-weight: bold;");
-        HBox status = new HBox(timeLbl);
+        Label timeLbl = new Label(ClockService.hhmm(ClockService.get().millis()));
+        timeLbl.getStyleClass().add("status-time");
+        perfOverlay = new PerfOverlay(owner);
+        timeLbl.setOnMouseClicked(e -> {
+            if (e.getClickCount() == 2) perfOverlay.toggle();
+        });
+        HBox status = new HBox(12, timeLbl, perfOverlay);
         status.setAlignment(Pos.CENTER);
 
-        GridPane grid = new GridPane();
-        grid.setHgap(22);
-        grid.setVgap(22);
-        grid.setAlignment(Pos.TOP_CENTER);
-
-        // Icons from /resources/icons/*.png
-        grid.add(appIcon("/icons/calculator.png", "Calculator", () -> new CalculatorWindow(owner).show()), 0, 0);
-        grid.add(appIcon("/icons/notes.png",      "Notes",      () -> new NotesWindow(owner).show()),      1, 0);
-        grid.add(appIcon("/icons/clock.png",      "Clock",      () -> info(owner, "Demo only")),           2, 0);
-        grid.add(appIcon("/icons/weather.png", "Weather",       () -> new WeatherWindow(owner).show()),    3, 0);
-        grid.add(appIcon("/icons/music.png",      "Music",      () -> info(owner, "Demo only")),           0, 1);
-        grid.add(appIcon("/icons/mail.png",       "Mail",       () -> info(owner, "Demo only")),           1, 1);
-        grid.add(appIcon("/icons/settings.png",   "Settings",   () -> new SettingsWindow(this).show()),    2, 1);
-        grid.add(appIcon("/icons/photos.png",     "Photos",     () -> info(owner, "Demo only")),           3, 1);
-
-        Region spacer = new Region();
-        VBox.setVgrow(spacer, Priority.ALWAYS);
+        // Tiles come from the app registry (META-INF/services/PhoneApp); app classes load on first tap.
+        // The launcher is paged and only builds nodes for the visible page and its neighbours.
+        List<PhoneApp> apps = AppRegistry.installed();
+        HomeScreen home = new HomeScreen(apps, PHONE_W, app -> launch(app, owner));
+        VBox.setVgrow(home, Priority.ALWAYS);
+        // icons are pre-scaled per render scale; follow the window across monitors
+        InvalidationListener rescale = o -> home.setRenderScale(Math.max(owner.getRenderScaleX(), owner.getRenderScaleY()));
+        owner.renderScaleXProperty().addListener(rescale);
+        owner.renderScaleYProperty().addListener(rescale);
 
         Region homeIndicator = new Region();
         homeIndicator.setPrefSize(160, 6);
-        homeIndicator.setStyle("-fx-background-color: rgba(255,255,255,0.85); -fx-background-radius: 4;");
+        homeIndicator.getStyleClass().add("home-indicator");
         StackPane homeWrap = new StackPane(homeIndicator);
         homeWrap.setPadding(new Insets(8));
 
-        phoneBody.getChildren().addAll(status, grid, spacer, homeWrap);
+        phoneBody.getChildren().addAll(status, home, homeWrap);
 
         // stack: wallpaper (back) + content (front)
         layeredPhone = new StackPane(wallpaperView, phoneBody);
@@ -123,113 +128,172 @@ public class Phone extends Application {
         clip.heightProperty().bind(layeredPhone.heightProperty());
         layeredPhone.setClip(clip);
 
-        // drop shadow for the device
+        // drop shadow for the device. Until a wallpaper is set the content casts it, as the icons
+        // float over the window background; after that it is the device outline, on a static layer of
+        // its own so moving the wallpaper doesn't re-blur the whole device every frame. That layer is
+        // clipped to outside the device, so gaps in the wallpaper still show the window background.
         DropShadow ds = new DropShadow(24, 0, 8, Color.rgb(0, 0, 0, 0.35));
-        layeredPhone.setEffect(ds);
+        phoneBody.setEffect(ds);
+        deviceShadow = new Region();
+        deviceShadow.setPrefSize(PHONE_W, PHONE_H);
+        deviceShadow.setMaxSize(PHONE_W, PHONE_H);
+        deviceShadow.getStyleClass().add("device-shadow");
+        deviceShadow.setEffect(ds);
+        Rectangle device = new Rectangle(PHONE_W, PHONE_H);
+        device.setArcWidth(34 * 2);
+        device.setArcHeight(34 * 2);
+        double reach = 24 + 8;   // blur radius + offset
+        deviceShadow.setClip(Shape.subtract(new Rectangle(-reach, -reach, PHONE_W + 2 * reach, PHONE_H + 2 * reach), device));
+        deviceShadow.setCache(true);
+        deviceShadow.setVisible(false);
 
         // recompute wallpaper "cover" layout on size/image change
         layeredPhone.widthProperty().addListener((o, ov, nv) -> layoutWallpaperCover());
         layeredPhone.heightProperty().addListener((o, ov, nv) -> layoutWallpaperCover());
         wallpaperView.imageProperty().addListener((o, ov, nv) -> layoutWallpaperCover());
 
-        root.getChildren().add(layeredPhone);
+        root.getChildren().addAll(deviceShadow, layeredPhone);
 
-        // update time every 30s
-        Timeline timer = new Timeline(new KeyFrame(Duration.seconds(30), e -> timeLbl.setText(nowHHmm())));
-        timer.setCycleCount(Animation.INDEFINITE);
-        timer.play();
+        // refresh on every minute boundary while the phone is on screen
+        ClockService.get().subscribe(ClockService.Tick.MINUTE, owner.showingProperty(),
+                t -> timeLbl.setText(ClockService.hhmm(t)));
 
         return root;
     }
 
-    private static String nowHHmm() {
-        return new SimpleDateFormat("HH:mm").format(new Date());
-    }
-
-    /** Create a launcher tile using a PNG from the classpath, cropping out any transparent padding. */
-    private VBox appIcon(String imgClasspath, String label, Runnable onOpen) {
-        VBox box = new VBox(8);
-        box.setAlignment(Pos.TOP_CENTER);
-
-        Image img = new Image(Objects.requireNonNull(
-            getClass().getResourceAsStream(imgClasspath),
-            "Missing resource: " + imgClasspath
-        ));
-
-        ImageView iv = iconViewCropped(img);
-        iv.setFitWidth(64);
-        iv.setFitHeight(64);
-        iv.setPreserveRatio(true);
-        iv.setSmooth(true);
-
-        Button btn = new Button();
-        btn.setGraphic(iv);
-        btn.setMinSize(64, 64);
-        btn.setPrefSize(64, 64);
-        btn.setStyle("-fx-padding: 0; -fx-background-color: transparent; -fx-background-radius: 16; -fx-border-radius: 16;");
-        btn.setOnAction(e -> onOpen.run());
-
-        Label text = new Label(label);
-        text.setStyle("-fx-text-fill: white; -fx-font-size: 12; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.55), 2, 0, 0, 1);");
-
-        box.getChildren().addAll(btn, text);
-        return box;
-    }
-
-    /** Crop out transparent borders from an image using its alpha channel. */
-    private ImageView iconViewCropped(Image img) {
-        PixelReader pr = img.getPixelReader();
-        int w = (int) img.getWidth();
-        int h = (int) img.getHeight();
-        int minX = w, minY = h, maxX = -1, maxY = -1;
-
-        for (int y = 0; y < h; y++) {
-            for (int x = 0; x < w; x++) {
-                int argb = pr.getArgb(x, y);
-                int a = (argb >>> 24) & 0xFF;
-                if (a != 0) {
-                    if (x < minX) minX = x;
-                    if (y < minY) minY = y;
-                    if (x > maxX) maxX = x;
-                    if (y > maxY) maxY = y;
-                }
+    /**
+     * Open an app, recorded as a phone.AppLaunch JFR event. The event ends when the app's first window is
+     * shown, before a modal {@code showAndWait()} starts waiting on the user, or when open() returns.
+     */
+    private void launch(PhoneApp app, Stage owner) {
+        PhoneEvents.AppLaunch ev = new PhoneEvents.AppLaunch();
+        ev.appId = app.id();
+        boolean[] committed = new boolean[1];
+        Runnable finish = () -> {
+            if (committed[0]) return;
+            committed[0] = true;
+            ev.commit();
+        };
+        ListChangeListener<Window> shown = c -> {
+            while (c.next()) {
+                if (c.wasAdded()) finish.run();
             }
+        };
+        Window.getWindows().addListener(shown);
+        ev.begin();
+        try {
+            app.open(this, owner);
+        } finally {
+            Window.getWindows().removeListener(shown);
+            finish.run();
         }
-
-        ImageView iv = new ImageView(img);
-        if (maxX >= minX && maxY >= minY) {
-            int vw = maxX - minX + 1;
-            int vh = maxY - minY + 1;
-            iv.setViewport(new Rectangle2D(minX, minY, vw, vh));
-        }
-        return iv;
     }
 
     // --------- Wallpaper API (cover + center + offsets) ---------
 
     /** Set wallpaper from a classpath resource and save choice. */
     public void setWallpaper(String resourcePath) {
-        Image bg = new Image(Objects.requireNonNull(
+        Image bg = PhoneEvents.decodeImage("wallpaper", resourcePath, Objects.requireNonNull(
                 getClass().getResourceAsStream(resourcePath),
                 "Missing background: " + resourcePath
         ));
+        stopLiveWallpaper();
         applyWallpaperView(bg);
         saveWallpaper(resourcePath);
     }
 
     /** Set wallpaper from a file on disk and save absolute path. */
     public void setWallpaperFile(File file) {
-        Image bg = new Image(file.toURI().toString());
+        Image bg = decodeWallpaperFile(file);
+        stopLiveWallpaper();
         applyWallpaperView(bg);
         saveWallpaper(file.getAbsolutePath());
     }
 
+    /** Switch to an animated wallpaper from {@link LiveWallpaper#generators()} and save it as {@code live:<id>}. */
+    public void setLiveWallpaper(String generatorId) {
+        WallpaperGenerator gen = LiveWallpaper.generator(generatorId);
+        if (gen == null) throw new IllegalArgumentException("No live wallpaper " + generatorId);
+        startLiveWallpaper(gen);
+        saveWallpaper(LIVE_PREFIX + generatorId);
+    }
+
+    /** Id of the running live wallpaper, or null when a picture is shown. */
+    public String getLiveWallpaper() {
+        return liveWallpaper != null ? liveWallpaper.generator().id() : null;
+    }
+
+    private void startLiveWallpaper(WallpaperGenerator gen) {
+        stopLiveWallpaper();
+        double scale = Math.max(Screen.getPrimary().getOutputScaleX(), Screen.getPrimary().getOutputScaleY());
+        liveWallpaper = new LiveWallpaper(gen, PHONE_W, PHONE_H, scale);
+        liveWallpaper.setOffset(wallpaperOffsetX, wallpaperOffsetY);
+        layeredPhone.getChildren().add(1, liveWallpaper.view());   // above the picture, below the content
+        // drop the decoded picture, and keep its cover-scaled bounds out of the device layout
+        wallpaperView.setImage(null);
+        wallpaperView.setManaged(false);
+        showDeviceShadow();
+        liveWallpaper.start();
+    }
+
+    private void stopLiveWallpaper() {
+        if (liveWallpaper == null) return;
+        liveWallpaper.stop();
+        layeredPhone.getChildren().remove(liveWallpaper.view());
+        liveWallpaper = null;
+        wallpaperView.setManaged(true);                            // the caller applies the next picture
+    }
+
+    /**
+     * Decode a wallpaper file at the size it is actually drawn: just large enough to cover the device
+     * at the screen's render scale, so multi-megapixel photos don't stay in memory at full size.
+     */
+    private static Image decodeWallpaperFile(File file) {
+        double scale = Math.max(Screen.getPrimary().getOutputScaleX(), Screen.getPrimary().getOutputScaleY());
+        try (ImageInputStream in = ImageIO.createImageInputStream(file)) {
+            Iterator<ImageReader> readers = in != null ? ImageIO.getImageReaders(in) : null;
+            if (readers != null && readers.hasNext()) {
+                ImageReader reader = readers.next();
+                try {
+                    reader.setInput(in, true, true);
+                    double iw = reader.getWidth(0);
+                    double ih = reader.getHeight(0);
+                    double cover = Math.max(PHONE_W / iw, PHONE_H / ih) * scale;
+                    if (cover < 1) {
+                        return PhoneEvents.decodeImage("wallpaper", file, Math.ceil(iw * cover), Math.ceil(ih * cover));
+                    }
+                } finally {
+                    reader.dispose();
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to read wallpaper size: " + e.getMessage());
+        }
+        return PhoneEvents.decodeImage("wallpaper", file);  // small or unknown format: decode as is
+    }
+
     /** Apply image and re-apply offsets + cover layout. */
     private void applyWallpaperView(Image bg) {
+        PhoneEvents.WallpaperApply ev = new PhoneEvents.WallpaperApply();
+        ev.begin();
         wallpaperView.setImage(bg);
         wallpaperView.setTranslateX(wallpaperOffsetX);
         wallpaperView.setTranslateY(wallpaperOffsetY);
         layoutWallpaperCover();
+        showDeviceShadow();
+        ev.end();
+        if (ev.shouldCommit()) {
+            ev.width = (int) bg.getWidth();
+            ev.height = (int) bg.getHeight();
+            ev.pixels = (long) ev.width * ev.height;
+            ev.commit();
+        }
+    }
+
+    /** The device is filled from now on: it casts the outline shadow instead of its content. */
+    private void showDeviceShadow() {
+        deviceShadow.setVisible(true);
+        phoneBody.setEffect(null);
     }
 
     /** Adjust wallpaper offsets live (used by Settings sliders). */
@@ -240,6 +304,7 @@ public class Phone extends Application {
             wallpaperView.setTranslateX(offsetX);
             wallpaperView.setTranslateY(offsetY);
         }
+        if (liveWallpaper != null) liveWallpaper.setOffset(offsetX, offsetY);
     }
 
     public double getWallpaperOffsetX() { return wallpaperOffsetX; }
@@ -289,15 +354,18 @@ public class Phone extends Application {
             if (Files.exists(settingsFile)) {
                 String value = Files.readString(settingsFile, StandardCharsets.UTF_8).trim();
                 if (value.isEmpty()) return;
-                if (value.startsWith("/")) {
-                    Image bg = new Image(Objects.requireNonNull(
+                if (value.startsWith(LIVE_PREFIX)) {
+                    WallpaperGenerator gen = LiveWallpaper.generator(value.substring(LIVE_PREFIX.length()));
+                    if (gen != null) startLiveWallpaper(gen);
+                } else if (value.startsWith("/") && getClass().getResource(value) != null) {
+                    Image bg = PhoneEvents.decodeImage("wallpaper", value, Objects.requireNonNull(
                             getClass().getResourceAsStream(value),
                             "Missing saved resource: " + value
                     ));
                     applyWallpaperView(bg);
                 } else {
                     File f = new File(value);
-                    if (f.exists()) applyWallpaperView(new Image(f.toURI().toString()));
+                    if (f.exists()) applyWallpaperView(decodeWallpaperFile(f));
                 }
             }
         } catch (IOException e) {
@@ -305,7 +373,7 @@ public class Phone extends Application {
         }
     }
 
-    private static void info(Stage owner, String message) {
+    static void info(Stage owner, String message) {
         Alert a = new Alert(Alert.AlertType.INFORMATION, message, ButtonType.OK);
         a.initOwner(owner);
         a.initModality(Modality.WINDOW_MODAL);
@@ -0,0 +1,22 @@
+import javafx.stage.Stage;
+
+/**
+ * Lightweight descriptor for a home-screen app, discovered through {@link java.util.ServiceLoader}.
+ * Implementations should only hold the tile metadata; the app window (and anything heavy it pulls in)
+ * is referenced from {@link #open} alone, so it isn't class-loaded until the tile is tapped.
+ */
+public interface PhoneApp {
+    /** Stable id; breaks ties between tiles with the same {@link #order()}. */
+    String id();
+
+    String label();
+
+    /** Classpath location of the tile icon, e.g. "/icons/notes.png". */
+    String iconPath();
+
+    /** Position on the home screen; lower comes first. */
+    int order();
+
+    /** Factory invoked on tap. */
+    void open(Phone phone, Stage owner);
+}
@@ -0,0 +1,153 @@
+import javafx.scene.image.Image;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Custom Flight Recorder events for the phone's expensive operations. They are disabled unless a
+ * recording enables them, e.g. {@code -XX:StartFlightRecording:settings=resources/jfr/phone.jfc}.
+ */
+public final class PhoneEvents {
+    private PhoneEvents() { }
+
+    @Name("phone.AppLaunch")
+    @Label("App Launch")
+    @Category({"Phone", "Apps"})
+    @Description("Construction of an app after its tile was tapped, up to its first window being shown")
+    static class AppLaunch extends Event {
+        @Label("App") String appId;
+    }
+
+    @Name("phone.ImageDecode")
+    @Label("Image Decode")
+    @Category({"Phone", "Images"})
+    static class ImageDecode extends Event {
+        @Label("Kind") String kind;
+        @Label("Source") String source;
+        @Label("Bytes Read") @DataAmount long bytesRead;
+        @Label("Width") int width;
+        @Label("Height") int height;
+        @Label("Pixels Decoded") long pixels;
+    }
+
+    @Name("phone.IconCrop")
+    @Label("Icon Alpha Crop")
+    @Category({"Phone", "Images"})
+    @Description("Alpha-channel scan that finds the opaque bounds of a launcher icon")
+    static class IconCrop extends Event {
+        @Label("Pixels Scanned") long pixels;
+        @Label("Crop Width") int cropWidth;
+        @Label("Crop Height") int cropHeight;
+    }
+
+    @Name("phone.WallpaperApply")
+    @Label("Wallpaper Apply")
+    @Category({"Phone", "Images"})
+    static class WallpaperApply extends Event {
+        @Label("Width") int width;
+        @Label("Height") int height;
+        @Label("Pixels") long pixels;
+    }
+
+    @Name("phone.NetworkFetch")
+    @Label("Network Fetch")
+    @Category({"Phone", "Network"})
+    static class NetworkFetch extends Event {
+        @Label("URL") String url;
+        @Label("Status") int status;
+        @Label("Bytes Read") @DataAmount long bytesRead;
+        @Label("Success") boolean success;
+    }
+
+    @Name("phone.WeatherParse")
+    @Label("Weather Parse")
+    @Category({"Phone", "Network"})
+    static class WeatherParse extends Event {
+        @Label("JSON Length (chars)") long chars;
+    }
+
+    @Name("phone.NotesIO")
+    @Label("Notes Persistence")
+    @Category({"Phone", "Persistence"})
+    static class NotesIO extends Event {
+        @Label("Operation") String operation;
+        @Label("Path") String path;
+        @Label("Notes") int notes;
+        @Label("Bytes") @DataAmount long bytes;
+    }
+
+    /** Decode an image from a stream, recording an {@link ImageDecode} event when enabled. */
+    static Image decodeImage(String kind, String source, InputStream in) {
+        ImageDecode ev = new ImageDecode();
+        ev.begin();
+        CountingInputStream counted = new CountingInputStream(in);
+        Image img = new Image(counted);
+        ev.end();
+        if (ev.shouldCommit()) {
+            record(ev, kind, source, counted.count, img);
+        }
+        return img;
+    }
+
+    /** Decode an image file from disk, recording an {@link ImageDecode} event when enabled. */
+    static Image decodeImage(String kind, File file) {
+        return decodeImage(kind, file, 0, 0);
+    }
+
+    /** Decode an image file scaled to fit {@code width x height} (0 = source size), recording an event. */
+    static Image decodeImage(String kind, File file, double width, double height) {
+        ImageDecode ev = new ImageDecode();
+        ev.begin();
+        Image img = new Image(file.toURI().toString(), width, height, true, true);
+        ev.end();
+        if (ev.shouldCommit()) {
+            record(ev, kind, file.getPath(), file.length(), img);
+        }
+        return img;
+    }
+
+    private static void record(ImageDecode ev, String kind, String source, long bytes, Image img) {
+        ev.kind = kind;
+        ev.source = source;
+        ev.bytesRead = bytes;
+        ev.width = (int) img.getWidth();
+        ev.height = (int) img.getHeight();
+        ev.pixels = (long) ev.width * ev.height;
+        ev.commit();
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        long count;
+
+        CountingInputStream(InputStream in) { super(in); }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) count += n;
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
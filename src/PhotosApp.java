@@ -0,0 +1,13 @@
+import javafx.stage.Stage;
+
+public class PhotosApp implements PhoneApp {
+    @Override public String id() { return "photos"; }
+    @Override public String label() { return "Photos"; }
+    @Override public String iconPath() { return "/icons/photos.png"; }
+    @Override public int order() { return 7; }
+
+    @Override
+    public void open(Phone phone, Stage owner) {
+        new PhotosWindow(phone, owner).show();
+    }
+}
@@ -0,0 +1,199 @@
+import javafx.concurrent.Task;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.*;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.*;
+import javafx.stage.DirectoryChooser;
+import javafx.stage.Modality;
+import javafx.stage.Screen;
+import javafx.stage.Stage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Photo browser. The grid is a {@link ListView} of rows, so only the visible rows (plus a couple the
+ * skin keeps around) ever have cells; thumbnails come from {@link ThumbnailLoader}.
+ */
+public class PhotosWindow {
+    private static final int COLS = 3;
+    private static final double THUMB = 120;   // cell edge in layout pixels
+
+    private final Stage stage = new Stage();
+    private final Phone phone;
+    private final ThumbnailLoader thumbs;
+    private final ListView<List<Path>> rows = new ListView<>();   // one item per row of COLS photos
+    private final Label folderLbl = new Label();
+
+    public PhotosWindow(Phone phone, Stage owner) {
+        this.phone = phone;
+        stage.initOwner(owner);
+        stage.initModality(Modality.NONE);
+        stage.setTitle("Photos");
+        stage.setResizable(false);
+
+        double scale = Math.max(Screen.getPrimary().getOutputScaleX(), Screen.getPrimary().getOutputScaleY());
+        thumbs = new ThumbnailLoader((int) Math.ceil(THUMB * scale));
+
+        Button choose = new Button("Open Folder…");
+        choose.setOnAction(e -> {
+            DirectoryChooser dc = new DirectoryChooser();
+            dc.setTitle("Choose Photo Folder");
+            File dir = dc.showDialog(stage);
+            if (dir != null) browse(dir.toPath());
+        });
+        HBox top = new HBox(8, choose, folderLbl);
+        top.setAlignment(Pos.CENTER_LEFT);
+
+        rows.setCellFactory(lv -> new RowCell());
+        rows.setFixedCellSize(THUMB + 6);
+        rows.setPlaceholder(new Label("No photos in this folder."));
+
+        BorderPane root = new BorderPane();
+        root.setTop(top);
+        root.setCenter(rows);
+        BorderPane.setMargin(top, new Insets(10));
+        root.setPadding(new Insets(0, 0, 10, 0));
+
+        stage.setOnHidden(e -> thumbs.shutdown());
+        stage.setScene(new Scene(root, COLS * (THUMB + 6) + 36, 640));
+
+        Path pictures = Paths.get(System.getProperty("user.home"), "Pictures");
+        if (Files.isDirectory(pictures)) browse(pictures);
+    }
+
+    public void show() { stage.show(); }
+
+    /** List image files off the FX thread (folders can hold tens of thousands of entries). */
+    private void browse(Path dir) {
+        folderLbl.setText("Loading " + dir.getFileName() + "…");
+        Task<List<Path>> list = new Task<>() {
+            @Override
+            protected List<Path> call() throws IOException {
+                try (Stream<Path> s = Files.list(dir)) {
+                    return s.filter(PhotosWindow::isImage).sorted().toList();
+                }
+            }
+        };
+        list.setOnSucceeded(e -> {
+            List<Path> photos = list.getValue();
+            List<List<Path>> grid = new ArrayList<>((photos.size() + COLS - 1) / COLS);
+            for (int i = 0; i < photos.size(); i += COLS) {
+                grid.add(photos.subList(i, Math.min(photos.size(), i + COLS)));
+            }
+            rows.getItems().setAll(grid);
+            rows.scrollTo(0);
+            folderLbl.setText(dir.getFileName() + " — " + photos.size() + " photos");
+        });
+        list.setOnFailed(e -> folderLbl.setText("Can't read " + dir + ": " + list.getException().getMessage()));
+        Thread t = new Thread(list, "photos-list");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    private static boolean isImage(Path p) {
+        String n = p.getFileName().toString().toLowerCase(Locale.ROOT);
+        return (n.endsWith(".png") || n.endsWith(".jpg") || n.endsWith(".jpeg") || n.endsWith(".gif") || n.endsWith(".bmp"))
+                && Files.isRegularFile(p);
+    }
+
+    private void open(Path photo) {
+        Image full = new Image(photo.toUri().toString(), 640, 640, true, true, true);  // preview size, async
+        ImageView view = new ImageView(full);
+        view.setFitWidth(360);
+        view.setFitHeight(480);
+        view.setPreserveRatio(true);
+
+        Button setBg = new Button("Set as Wallpaper");
+        setBg.setOnAction(e -> phone.setWallpaperFile(photo.toFile()));
+
+        VBox box = new VBox(10, view, setBg);
+        box.setAlignment(Pos.CENTER);
+        box.setPadding(new Insets(12));
+
+        Stage viewer = new Stage();
+        viewer.initOwner(stage);
+        viewer.setTitle(photo.getFileName().toString());
+        viewer.setScene(new Scene(box));
+        viewer.show();
+    }
+
+    /** One grid cell; re-binding it cancels the decode for whatever it showed before. */
+    private final class Thumb extends StackPane {
+        private final ImageView iv = new ImageView();
+        private Path bound;
+        private ThumbnailLoader.Request pending;
+
+        Thumb() {
+            setPrefSize(THUMB, THUMB);
+            setMinSize(THUMB, THUMB);
+            getStyleClass().add("photo-thumb");
+            iv.setFitWidth(THUMB);
+            iv.setFitHeight(THUMB);
+            iv.setPreserveRatio(true);
+            getChildren().add(iv);
+            setOnMouseClicked(e -> {
+                if (bound != null) open(bound);
+            });
+        }
+
+        void bind(Path photo) {
+            if (photo != null && photo.equals(bound)) return;
+            if (pending != null) {
+                pending.cancel();
+                pending = null;
+            }
+            bound = photo;
+            iv.setImage(null);
+            setVisible(photo != null);
+            if (photo == null) return;
+
+            Image hit = thumbs.cached(photo);
+            if (hit != null) {
+                iv.setImage(hit);
+            } else {
+                pending = thumbs.request(photo, img -> {
+                    pending = null;
+                    iv.setImage(img);
+                });
+            }
+        }
+    }
+
+    private final class RowCell extends ListCell<List<Path>> {
+        private final Thumb[] cells = new Thumb[COLS];
+        private final HBox box = new HBox(6);
+
+        RowCell() {
+            for (int c = 0; c < COLS; c++) {
+                cells[c] = new Thumb();
+                box.getChildren().add(cells[c]);
+            }
+            getStyleClass().add("photo-row");
+        }
+
+        @Override
+        protected void updateItem(List<Path> row, boolean empty) {
+            super.updateItem(row, empty);
+            if (empty || row == null) {
+                for (Thumb t : cells) t.bind(null);
+                setGraphic(null);
+                return;
+            }
+            for (int c = 0; c < COLS; c++) {
+                cells[c].bind(c < row.size() ? row.get(c) : null);
+            }
+            setGraphic(box);
+        }
+    }
+}
@@ -0,0 +1,321 @@
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.function.IntConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Scripted rendering regression run for {@link Phone}. Drives startup, wallpaper swaps, an offset drag,
+ * app open/close and live wallpapers, records per-pulse timing and FX-thread allocation, snapshots each
+ * scenario, and exits non-zero when a scenario exceeds /render-budgets.properties (or differs from a
+ * baseline snapshot). On a CI box with no display or GPU, run it on Monocle's headless platform with the
+ * software pipeline (openjfx-monocle on the classpath):
+ * <pre>
+ *   java -Dglass.platform=Monocle -Dmonocle.platform=Headless -Dprism.order=sw -Dheadless.geometry=1600x1200-32 \
+ *        -cp out:resources:openjfx-monocle.jar:... RenderHarness [--out dir] [--baseline dir] [--record]
+ * </pre>
+ * Monocle's default 1280x800 headless screen is shorter than the phone window, hence the geometry.
+ * The phone's clock is pinned to {@link #FROZEN_TIME} so the status bar renders the same on every run.
+ * A snapshot fails when more than {@link #MAX_CHANGED_PIXELS} pixels differ from the baseline by more
+ * than {@link #PIXEL_TOLERANCE} in any channel.
+ * {@code --record} writes the measured numbers (plus headroom) to {@code out/render-budgets.properties}
+ * for updating the checked-in budgets.
+ */
+public class RenderHarness extends Application {
+    private static final double RECORD_HEADROOM = 1.5;
+    private static final Instant FROZEN_TIME = Instant.parse("2024-01-01T09:41:00Z");
+    private static final int PIXEL_TOLERANCE = 16;       // per-channel difference still treated as equal, 0..255
+    private static final int MAX_CHANGED_PIXELS = 64;    // a launcher icon alone is ~3000 pixels
+
+    /** One scripted step: {@code setup} runs once, then {@code perFrame} on each of {@code frames} pulses. */
+    private record Scenario(String name, int frames, Runnable setup, IntConsumer perFrame) { }
+
+    private record Result(String name, double gapP95Ms, double gapMaxMs, double workP95Ms, double allocKbPerFrame) { }
+
+    private Path outDir = Paths.get("render-out");
+    private Path baselineDir;
+    private boolean record;
+    private Path home;                           // throwaway user.home, deleted when the run ends
+
+    private Phone phone;
+    private Stage phoneStage;
+    private final Properties budgets = new Properties();
+    private final List<Result> results = new ArrayList<>();
+    private final List<String> failures = new ArrayList<>();
+
+    // per-scenario measurement (FX thread only)
+    private List<Scenario> scenarios;
+    private int current = -1;
+    private int frame;
+    private long lastPulse;
+    private long pulseStart;
+    private long[] gaps;
+    private long[] work;
+    private long allocStart;
+    private long fxThreadId;
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final AnimationTimer driver = new AnimationTimer() {
+        @Override
+        public void handle(long now) { onPulse(now); }
+    };
+
+    @Override
+    public void start(Stage stage) throws Exception {
+        List<String> args = getParameters().getRaw();
+        for (int i = 0; i < args.size(); i++) {
+            switch (args.get(i)) {
+                case "--out" -> outDir = Paths.get(args.get(++i));
+                case "--baseline" -> baselineDir = Paths.get(args.get(++i));
+                case "--record" -> record = true;
+                default -> throw new IllegalArgumentException("Unknown option " + args.get(i));
+            }
+        }
+        Files.createDirectories(outDir);
+        try (InputStream in = getClass().getResourceAsStream("/render-budgets.properties")) {
+            if (in != null) budgets.load(in);
+        }
+
+        // keep the run away from the user's real settings, notes, thumbnails, ...
+        home = Files.createTempDirectory("phone-harness");
+        System.setProperty("user.home", home.toString());
+
+        ClockService.get().setClock(Clock.fixed(FROZEN_TIME, ZoneOffset.UTC));
+        fxThreadId = Thread.currentThread().getId();
+        phoneStage = stage;
+        phone = new Phone();
+
+        scenarios = List.of(
+                new Scenario("startup", 120, () -> {
+                    try {
+                        phone.start(phoneStage);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }, f -> { }),
+                new Scenario("wallpaper-swap", 120, () -> { }, f -> {
+                    if (f % 20 == 0) phone.setWallpaper(f % 40 == 0 ? "/backgrounds/homies.png" : "/icons/photos.png");
+                }),
+                new Scenario("offset-drag", 180, () -> phone.setWallpaper("/backgrounds/homies.png"), f ->
+                        phone.setWallpaperOffset(Math.sin(f / 15.0) * 200, Math.cos(f / 20.0) * 120)),
+                new Scenario("app-open-close", 240, () -> { }, f -> {
+                    // open one app every 40 frames and close it 20 frames later; opening is posted so
+                    // windows are not shown from inside animation processing
+                    String[] ids = {"calculator", "notes", "clock", "weather", "settings", "mail"};
+                    if (f % 40 == 0 && f / 40 < ids.length) Platform.runLater(() -> openApp(ids[f / 40]));
+                    if (f % 40 == 20) Platform.runLater(this::closeApps);
+                }),
+                new Scenario("live-wallpaper", 240, () -> phone.setLiveWallpaper("particles"), f -> {
+                    // particles animate on their own; parallax only redraws while the offsets move. For
+                    // the last frames it holds still, restarted so the snapshot frame is drawn at full
+                    // quality whatever level the drag left the engine at
+                    if (f == 90) phone.setLiveWallpaper("parallax");
+                    if (f > 90 && f < 200) phone.setWallpaperOffset(Math.sin(f / 12.0) * 200, Math.cos(f / 18.0) * 80);
+                    if (f == 200) {
+                        phone.setWallpaperOffset(0, 0);
+                        phone.setLiveWallpaper("parallax");
+                    }
+                })
+        );
+        next();
+        driver.start();
+    }
+
+    private void openApp(String id) {
+        for (PhoneApp app : AppRegistry.installed()) {
+            if (app.id().equals(id)) app.open(phone, phoneStage);
+        }
+    }
+
+    private void closeApps() {
+        for (Window w : new ArrayList<>(Window.getWindows())) {
+            if (w != phoneStage) w.hide();
+        }
+    }
+
+    private void next() {
+        current++;
+        if (current >= scenarios.size()) {
+            driver.stop();
+            finish();
+            return;
+        }
+        Scenario s = scenarios.get(current);
+        frame = 0;
+        lastPulse = 0;
+        gaps = new long[s.frames()];
+        work = new long[s.frames()];
+        allocStart = threads.getThreadAllocatedBytes(fxThreadId);
+        s.setup().run();
+        Scene scene = phoneStage.getScene();
+        if (current == 0) {
+            // pulse work = animation phase (driver) through CSS + layout of the phone scene
+            scene.addPostLayoutPulseListener(() -> {
+                if (pulseStart != 0 && frame > 0 && frame <= work.length) work[frame - 1] = System.nanoTime() - pulseStart;
+                pulseStart = 0;
+            });
+        }
+    }
+
+    private void onPulse(long now) {
+        Scenario s = scenarios.get(current);
+        if (frame >= s.frames()) {
+            endScenario(s);
+            next();
+            return;
+        }
+        gaps[frame] = lastPulse == 0 ? 0 : now - lastPulse;
+        lastPulse = now;
+        pulseStart = System.nanoTime();
+        s.perFrame().accept(frame);
+        frame++;
+    }
+
+    private void endScenario(Scenario s) {
+        long alloc = threads.getThreadAllocatedBytes(fxThreadId) - allocStart;
+        long[] g = Arrays.copyOfRange(gaps, 1, gaps.length);   // first gap spans the setup
+        Arrays.sort(g);
+        long[] w = work.clone();
+        Arrays.sort(w);
+        Result r = new Result(s.name(), p95(g) / 1e6, g.length > 0 ? g[g.length - 1] / 1e6 : 0, p95(w) / 1e6,
+                alloc / 1024.0 / s.frames());
+        results.add(r);
+        System.out.printf(Locale.US, "%-16s gap p95 %6.2f ms  max %6.2f ms  work p95 %6.2f ms  alloc %8.1f KB/frame%n",
+                r.name(), r.gapP95Ms(), r.gapMaxMs(), r.workP95Ms(), r.allocKbPerFrame());
+
+        check(r.name() + ".gapP95Ms", r.gapP95Ms());
+        check(r.name() + ".workP95Ms", r.workP95Ms());
+        check(r.name() + ".allocKbPerFrame", r.allocKbPerFrame());
+        snapshot(r.name());
+    }
+
+    private static long p95(long[] sorted) {
+        return sorted.length == 0 ? 0 : sorted[Math.min(sorted.length - 1, (int) Math.ceil(sorted.length * 0.95) - 1)];
+    }
+
+    private void check(String key, double measured) {
+        String budget = budgets.getProperty(key);
+        if (budget != null && measured > Double.parseDouble(budget)) {
+            failures.add(String.format(Locale.US, "%s = %.2f exceeds budget %s", key, measured, budget));
+        }
+    }
+
+    // ---------------- snapshots ----------------
+
+    private void snapshot(String name) {
+        WritableImage img = phoneStage.getScene().snapshot(null);   // fixed size, whatever the offsets
+        BufferedImage png = toBuffered(img);
+        try {
+            ImageIO.write(png, "png", outDir.resolve(name + ".png").toFile());
+            if (baselineDir != null) {
+                File base = baselineDir.resolve(name + ".png").toFile();
+                if (base.exists()) {
+                    long changed = changedPixels(ImageIO.read(base), png);
+                    if (changed > MAX_CHANGED_PIXELS) {
+                        failures.add(String.format(Locale.US, "%s snapshot differs from baseline (%d pixels changed)", name, changed));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            failures.add(name + " snapshot failed: " + e.getMessage());
+        }
+    }
+
+    private static BufferedImage toBuffered(WritableImage img) {
+        int w = (int) img.getWidth();
+        int h = (int) img.getHeight();
+        int[] argb = new int[w * h];
+        img.getPixelReader().getPixels(0, 0, w, h, PixelFormat.getIntArgbInstance(), argb, 0, w);
+        BufferedImage out = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+        out.setRGB(0, 0, w, h, argb, 0, w);
+        return out;
+    }
+
+    /** Pixels where any channel differs by more than {@link #PIXEL_TOLERANCE}; all of them if the sizes differ. */
+    private static long changedPixels(BufferedImage a, BufferedImage b) {
+        if (a.getWidth() != b.getWidth() || a.getHeight() != b.getHeight()) {
+            return (long) Math.max(a.getWidth(), b.getWidth()) * Math.max(a.getHeight(), b.getHeight());
+        }
+        long changed = 0;
+        for (int y = 0; y < a.getHeight(); y++) {
+            for (int x = 0; x < a.getWidth(); x++) {
+                int p = a.getRGB(x, y), q = b.getRGB(x, y);
+                for (int shift = 0; shift < 32; shift += 8) {
+                    if (Math.abs(((p >>> shift) & 0xFF) - ((q >>> shift) & 0xFF)) > PIXEL_TOLERANCE) {
+                        changed++;
+                        break;
+                    }
+                }
+            }
+        }
+        return changed;
+    }
+
+    // ---------------- report ----------------
+
+    private void finish() {
+        if (record) {
+            Properties measured = new Properties();
+            for (Result r : results) {
+                measured.setProperty(r.name() + ".gapP95Ms", fmt(r.gapP95Ms() * RECORD_HEADROOM));
+                measured.setProperty(r.name() + ".workP95Ms", fmt(r.workP95Ms() * RECORD_HEADROOM));
+                measured.setProperty(r.name() + ".allocKbPerFrame", fmt(r.allocKbPerFrame() * RECORD_HEADROOM));
+            }
+            try (OutputStream out = Files.newOutputStream(outDir.resolve("render-budgets.properties"))) {
+                measured.store(out, "Recorded by RenderHarness --record (x" + RECORD_HEADROOM + " headroom)");
+            } catch (IOException e) {
+                System.err.println("Failed to write recorded budgets: " + e.getMessage());
+            }
+        }
+        failures.forEach(f -> System.err.println("FAIL " + f));
+        System.out.println(failures.isEmpty() ? "All scenarios within budget." : failures.size() + " budget failure(s).");
+        int code = failures.isEmpty() ? 0 : 1;
+        Platform.exit();
+        deleteTree(home);
+        System.exit(code);
+    }
+
+    /** Best effort: a background writer (thumbnails, mail index) may still be finishing a file. */
+    private static void deleteTree(Path dir) {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Failed to delete " + dir + ": " + e.getMessage());
+        }
+    }
+
+    private static String fmt(double v) {
+        return String.format(Locale.US, "%.2f", v);
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
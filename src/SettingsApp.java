@@ -0,0 +1,13 @@
+import javafx.stage.Stage;
+
+public class SettingsApp implements PhoneApp {
+    @Override public String id() { return "settings"; }
+    @Override public String label() { return "Settings"; }
+    @Override public String iconPath() { return "/icons/settings.png"; }
+    @Override public int order() { return 6; }
+
+    @Override
+    public void open(Phone phone, Stage owner) {
+        new SettingsWindow(phone).show();
+    }
+}
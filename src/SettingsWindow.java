@@ -17,9 +17,11 @@ import javafx.scene.effect.DropShadow;
 import javafx.stage.FileChooser;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
+import javafx.util.StringConverter;
 
 import java.io.File;
 import java.util.LinkedHashMap;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 
@@ -34,6 +36,9 @@ public class SettingsWindow {
     }};
 
     public SettingsWindow(Phone phone) {
+        // only offer wallpapers that are actually bundled
+        builtIn.values().removeIf(path -> SettingsWindow.class.getResource(path) == null);
+
         stage.setTitle("Settings");
         stage.initModality(Modality.NONE);
 
@@ -83,12 +88,45 @@ public class SettingsWindow {
         top.setAlignment(Pos.CENTER_LEFT);
         top.setPadding(new Insets(10));
 
+        // live (animated) wallpapers; the X/Y offsets drive their parallax
+        ComboBox<WallpaperGenerator> live = new ComboBox<>();
+        live.getItems().addAll(LiveWallpaper.generators());
+        live.setConverter(new StringConverter<>() {
+            @Override public String toString(WallpaperGenerator g) { return g == null ? "" : g.label(); }
+            @Override public WallpaperGenerator fromString(String s) { return null; }
+        });
+        live.getItems().stream().filter(g -> g.id().equals(phone.getLiveWallpaper())).findFirst()
+                .ifPresentOrElse(live::setValue, () -> live.getSelectionModel().selectFirst());
+        Button applyLive = new Button("Apply");
+        applyLive.setOnAction(e -> {
+            if (live.getValue() != null) phone.setLiveWallpaper(live.getValue().id());
+        });
+        HBox liveRow = new HBox(10, new Label("Live:"), live, applyLive);
+        liveRow.setAlignment(Pos.CENTER_LEFT);
+        liveRow.setPadding(new Insets(10, 10, 0, 10));
+
+        // theme: applies to every open window at once
+        Theme theme = Theme.get();
+        ComboBox<Theme.Mode> mode = new ComboBox<>();
+        mode.getItems().addAll(Theme.Mode.values());
+        mode.setValue(theme.mode());
+        mode.setConverter(titleCase());
+        ComboBox<Theme.Accent> accent = new ComboBox<>();
+        accent.getItems().addAll(Theme.Accent.values());
+        accent.setValue(theme.accent());
+        accent.setConverter(titleCase());
+        mode.setOnAction(e -> theme.set(mode.getValue(), accent.getValue()));
+        accent.setOnAction(e -> theme.set(mode.getValue(), accent.getValue()));
+
+        HBox themeRow = new HBox(10, new Label("Theme:"), mode, new Label("Accent:"), accent);
+        themeRow.setAlignment(Pos.CENTER_LEFT);
+        themeRow.setPadding(new Insets(10, 10, 0, 10));
+
         preview.setFitWidth(220);
         preview.setFitHeight(420);
         preview.setPreserveRatio(true);
 
-        String first = builtIn.values().iterator().next();
-        preview.setImage(load(first));
+        if (!builtIn.isEmpty()) preview.setImage(load(builtIn.values().iterator().next()));
         combo.setOnAction(e -> preview.setImage(load(builtIn.get(combo.getValue()))));
 
         StackPane previewPhone = new StackPane(preview);
@@ -104,10 +142,10 @@ public class SettingsWindow {
         previewPhone.setEffect(ds);
 
         BorderPane root = new BorderPane();
-        root.setTop(new VBox(top, offsets));
+        root.setTop(new VBox(top, offsets, liveRow, themeRow));
         BorderPane wrap = new BorderPane(previewPhone);
         wrap.setPadding(new Insets(10));
-        wrap.setStyle("-fx-background-color: #111; -fx-background-radius: 16;");
+        wrap.getStyleClass().add("preview-frame");
         root.setCenter(wrap);
         root.setPadding(new Insets(10));
 
@@ -121,5 +159,19 @@ public class SettingsWindow {
         ));
     }
 
+    private static <E extends Enum<E>> StringConverter<E> titleCase() {
+        return new StringConverter<>() {
+            @Override
+            public String toString(E e) {
+                if (e == null) return "";
+                String n = e.name();
+                return n.charAt(0) + n.substring(1).toLowerCase(Locale.ROOT);
+            }
+
+            @Override
+            public E fromString(String s) { return null; }
+        };
+    }
+
     public void show() { stage.show(); }
 }
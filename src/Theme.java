@@ -0,0 +1,137 @@
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Window;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * App-wide look. Every scene gets /css/phone.css, which holds the shared style classes, plus one
+ * palette sheet (/css/light.css or /css/dark.css). The scene root also gets an {@code accent-*} class
+ * that picks the accent color. The CSS engine parses each sheet once per URL and shares the result
+ * across scenes. Switching modes swaps the palette sheet and switching accents swaps the root class,
+ * on all open windows in one pass. New windows are themed as they are shown, including dialogs. The
+ * choice is saved to ~/.javafx_phone_demo/theme.properties.
+ */
+public final class Theme {
+    public enum Mode { LIGHT, DARK }
+
+    public enum Accent { BLUE, GREEN, ORANGE, PINK }
+
+    private static final String BASE = stylesheet("/css/phone.css");
+    private static final String LIGHT = stylesheet("/css/light.css");
+    private static final String DARK = stylesheet("/css/dark.css");
+
+    private static Theme instance;
+
+    private final Path file = Paths.get(System.getProperty("user.home"), ".javafx_phone_demo", "theme.properties");
+    private Mode mode = Mode.LIGHT;
+    private Accent accent = Accent.BLUE;
+    private boolean attached;
+
+    public static Theme get() {
+        if (instance == null) instance = new Theme();
+        return instance;
+    }
+
+    private Theme() {
+        load();
+    }
+
+    public Mode mode() { return mode; }
+
+    public Accent accent() { return accent; }
+
+    /** Theme every open window and every window shown from now on. FX thread only. */
+    public void attach() {
+        if (attached) return;
+        attached = true;
+        Window.getWindows().addListener((ListChangeListener<Window>) c -> {
+            while (c.next()) {
+                for (Window w : c.getAddedSubList()) apply(w.getScene());
+            }
+        });
+        restyleAll();
+    }
+
+    /** Switch look; all open windows are restyled on the next pulse. FX thread only. */
+    public void set(Mode mode, Accent accent) {
+        if (mode == this.mode && accent == this.accent) return;
+        this.mode = mode;
+        this.accent = accent;
+        restyleAll();
+        save();
+    }
+
+    private void restyleAll() {
+        for (Window w : Window.getWindows()) apply(w.getScene());
+    }
+
+    private void apply(Scene scene) {
+        if (scene == null) return;
+        ObservableList<String> sheets = scene.getStylesheets();
+        String palette = mode == Mode.DARK ? DARK : LIGHT;
+        int at = sheets.indexOf(BASE);
+        if (at < 0) {
+            sheets.addAll(0, List.of(BASE, palette));
+        } else if (at + 1 < sheets.size() && (sheets.get(at + 1).equals(LIGHT) || sheets.get(at + 1).equals(DARK))) {
+            sheets.set(at + 1, palette);
+        } else {
+            sheets.add(at + 1, palette);
+        }
+
+        Parent root = scene.getRoot();
+        if (root != null) {
+            ObservableList<String> classes = root.getStyleClass();
+            String cls = accentClass(accent);
+            classes.removeIf(c -> c.startsWith("accent-") && !c.equals(cls));
+            if (!classes.contains(cls)) classes.add(cls);
+        }
+    }
+
+    private static String accentClass(Accent a) {
+        return "accent-" + a.name().toLowerCase(Locale.ROOT);
+    }
+
+    private static String stylesheet(String path) {
+        return Objects.requireNonNull(Theme.class.getResource(path), "Missing stylesheet: " + path).toExternalForm();
+    }
+
+    // ---------------- persistence ----------------
+
+    private void load() {
+        if (!Files.exists(file)) return;
+        Properties p = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            p.load(in);
+            mode = Mode.valueOf(p.getProperty("mode", mode.name()));
+            accent = Accent.valueOf(p.getProperty("accent", accent.name()));
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Failed to load theme: " + e.getMessage());
+        }
+    }
+
+    private void save() {
+        Properties p = new Properties();
+        p.setProperty("mode", mode.name());
+        p.setProperty("accent", accent.name());
+        try {
+            Files.createDirectories(file.getParent());
+            try (OutputStream out = Files.newOutputStream(file)) {
+                p.store(out, "Phone theme");
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to save theme: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,184 @@
+import javafx.application.Platform;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelReader;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Decodes photo thumbnails at cell size on a small background pool. The newest request runs first (it
+ * is what's on screen now) and requests for cells that were scrolled away are cancelled before they
+ * run. Results go to a bounded in-memory LRU and to an on-disk PNG cache, both keyed by path, mtime and
+ * size (the disk cache also by thumbnail size), so an edited photo is decoded again and browsing a
+ * folder again only decodes tiny PNGs.
+ */
+public class ThumbnailLoader {
+    private static final int MEMORY_ENTRIES = 400;
+
+    private final Path diskCache = Paths.get(System.getProperty("user.home"), ".javafx_phone_demo", "thumbs");
+    private final int px;                                  // decoded thumbnail edge in physical pixels
+    private final AtomicLong seq = new AtomicLong();
+    private final PriorityBlockingQueue<Runnable> queue = new PriorityBlockingQueue<>();
+    private final ThreadPoolExecutor pool;
+
+    /** A photo as it is on disk; entries for older versions age out of the LRU. */
+    private record Key(Path photo, long modified, long size) {
+        static Key of(Path photo) throws IOException {
+            BasicFileAttributes attrs = Files.readAttributes(photo, BasicFileAttributes.class);
+            return new Key(photo, attrs.lastModifiedTime().toMillis(), attrs.size());
+        }
+    }
+
+    // FX thread only
+    private final Map<Key, Image> memory = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Image> eldest) {
+            return size() > MEMORY_ENTRIES;
+        }
+    };
+
+    /** Pending decode; cancel when its cell is re-bound to another photo. */
+    public final class Request implements Runnable, Comparable<Request> {
+        private final Path photo;
+        private final Consumer<Image> onLoaded;
+        private final long order = seq.incrementAndGet();
+        private volatile boolean cancelled;
+
+        private Request(Path photo, Consumer<Image> onLoaded) {
+            this.photo = photo;
+            this.onLoaded = onLoaded;
+        }
+
+        public void cancel() {
+            cancelled = true;
+            queue.remove(this);
+        }
+
+        @Override
+        public int compareTo(Request o) {
+            return Long.compare(o.order, order);  // newest first
+        }
+
+        @Override
+        public void run() {
+            if (cancelled) return;
+            Key key;
+            try {
+                key = Key.of(photo);
+            } catch (IOException e) {
+                System.err.println("Failed to load thumbnail for " + photo + ": " + e.getMessage());
+                return;
+            }
+            Image img = load(key);
+            if (img == null || cancelled) return;
+            Platform.runLater(() -> {
+                memory.put(key, img);
+                if (!cancelled) onLoaded.accept(img);
+            });
+        }
+    }
+
+    public ThumbnailLoader(int px) {
+        this.px = px;
+        int threads = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+        pool = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, queue, r -> {
+            Thread t = new Thread(r, "thumbnail-loader");
+            t.setDaemon(true);
+            t.setPriority(Thread.NORM_PRIORITY - 1);
+            return t;
+        });
+        pool.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Cached thumbnail of the photo as it is on disk now, or null if it still has to be requested. Costs
+     * one stat. FX thread only.
+     */
+    public Image cached(Path photo) {
+        try {
+            return memory.get(Key.of(photo));
+        } catch (IOException e) {
+            return null;   // gone or unreadable: the request reports it
+        }
+    }
+
+    /** Queue a decode; {@code onLoaded} runs on the FX thread unless the request was cancelled. */
+    public Request request(Path photo, Consumer<Image> onLoaded) {
+        Request r = new Request(photo, onLoaded);
+        pool.execute(r);
+        return r;
+    }
+
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    // ---------------- background thread ----------------
+
+    private Image load(Key key) {
+        try {
+            Path cached = cacheFile(key);
+            if (Files.exists(cached)) {
+                Image img = new Image(cached.toUri().toString());
+                if (!img.isError()) return img;
+            }
+            Image img = PhoneEvents.decodeImage("thumbnail", key.photo().toFile(), px, px);
+            if (img.isError()) return null;
+            store(img, cached);
+            return img;
+        } catch (IOException e) {
+            System.err.println("Failed to load thumbnail for " + key.photo() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private Path cacheFile(Key key) {
+        String name = key.photo().toAbsolutePath() + "|" + key.modified() + "|" + key.size() + "|" + px;
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(name.getBytes(StandardCharsets.UTF_8));
+            String hex = HexFormat.of().formatHex(digest);
+            return diskCache.resolve(hex.substring(0, 2)).resolve(hex + ".png");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Write the thumbnail as PNG (via a temp file so readers never see a partial file). */
+    private static void store(Image img, Path target) throws IOException {
+        int w = (int) img.getWidth();
+        int h = (int) img.getHeight();
+        int[] argb = new int[w * h];
+        PixelReader pr = img.getPixelReader();
+        pr.getPixels(0, 0, w, h, PixelFormat.getIntArgbInstance(), argb, 0, w);
+        BufferedImage out = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+        out.setRGB(0, 0, w, h, argb, 0, w);
+
+        Files.createDirectories(target.getParent());
+        File tmp = File.createTempFile("thumb", ".png", target.getParent().toFile());
+        try {
+            ImageIO.write(out, "png", tmp);
+            Files.move(tmp.toPath(), target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp.toPath());
+        }
+    }
+}
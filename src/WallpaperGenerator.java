@@ -0,0 +1,44 @@
+/**
+ * Procedural content for {@link LiveWallpaper}, discovered via META-INF/services/WallpaperGenerator.
+ * Everything except {@link #id()} and {@link #label()} is called on the wallpaper's render thread,
+ * never on the FX thread. Pixels are opaque ARGB in buffer (physical) pixels.
+ */
+public interface WallpaperGenerator {
+    /** Stable id, saved in the wallpaper setting as {@code live:<id>}. */
+    String id();
+
+    /** Name shown in Settings. */
+    String label();
+
+    /** Called once before the first frame with the buffer size and render scale (pixels per layout unit). */
+    void init(int width, int height, double scale);
+
+    /**
+     * Move the scene to {@code seconds} since start with the wallpaper offsets (buffer pixels), and add
+     * every pixel whose color changes to {@code dirty}. Leaving it empty means nothing needs drawing.
+     */
+    void advance(double seconds, double offsetX, double offsetY, LiveWallpaper.Dirty dirty);
+
+    /**
+     * Write row {@code y}, columns [x0, x1), into {@code out[0 .. x1-x0)}. With {@code step > 1} only every
+     * step-th column (from x0) has to be computed; repeat it for the skipped ones.
+     */
+    void paintRow(int y, int x0, int x1, int step, int[] out);
+
+    /** Opaque ARGB between {@code a} (t = 0) and {@code b} (t = 1). */
+    static int mix(int a, int b, double t) {
+        int r = (int) (((a >> 16) & 0xFF) + (((b >> 16) & 0xFF) - ((a >> 16) & 0xFF)) * t);
+        int g = (int) (((a >> 8) & 0xFF) + (((b >> 8) & 0xFF) - ((a >> 8) & 0xFF)) * t);
+        int bl = (int) ((a & 0xFF) + ((b & 0xFF) - (a & 0xFF)) * t);
+        return 0xFF000000 | r << 16 | g << 8 | bl;
+    }
+
+    /** Copy each computed column (x0, x0+step, ...) over the step-1 columns after it. */
+    static void fillBlocks(int[] out, int n, int step) {
+        if (step == 1) return;
+        for (int i = 0; i < n; i += step) {
+            int v = out[i];
+            for (int j = i + 1; j < Math.min(n, i + step); j++) out[j] = v;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+import javafx.stage.Stage;
+
+public class WeatherApp implements PhoneApp {
+    @Override public String id() { return "weather"; }
+    @Override public String label() { return "Weather"; }
+    @Override public String iconPath() { return "/icons/weather.png"; }
+    @Override public int order() { return 3; }
+
+    @Override
+    public void open(Phone phone, Stage owner) {
+        new WeatherWindow(owner).show();
+    }
+}
@@ -46,11 +46,11 @@ public class WeatherWindow {
         HBox search = new HBox(8, new Label("City:"), cityField, go);
         search.setAlignment(Pos.CENTER_LEFT);
 
-        tempLbl.setStyle("-fx-font-size: 48; -fx-font-weight: bold;");
-        placeLbl.setStyle("-fx-font-size: 16; -fx-opacity: 0.9;");
-        condLbl.setStyle("-fx-font-size: 16;");
-        windLbl.setStyle("-fx-font-size: 14;");
-        hiLoLbl.setStyle("-fx-font-size: 14;");
+        tempLbl.getStyleClass().add("weather-temp");
+        placeLbl.getStyleClass().add("weather-place");
+        condLbl.getStyleClass().add("weather-condition");
+        windLbl.getStyleClass().add("weather-detail");
+        hiLoLbl.getStyleClass().add("weather-detail");
 
         VBox info = new VBox(6, placeLbl, tempLbl, condLbl, hiLoLbl, windLbl);
         info.setAlignment(Pos.CENTER_LEFT);
@@ -112,26 +112,35 @@ public class WeatherWindow {
                     placeLbl.setText("");
                     return;
                 }
+                // parse everything first so the event times the JSON scan only, not the label updates
+                PhoneEvents.WeatherParse parse = new PhoneEvents.WeatherParse();
+                parse.begin();
+
                 // combined = "Place\n{json...}"
                 int nl = combined.indexOf('\n');
                 String place = combined.substring(0, nl);
                 String wxJson = combined.substring(nl + 1);
 
-                placeLbl.setText(place);
-
                 // ----- Current (from "current_weather" only) -----
                 String cw = jsonSection(wxJson, "current_weather");
                 Double tempC = cw != null ? findDouble(cw, "\"temperature\":") : null;
                 Integer code = cw != null ? findInt(cw, "\"weathercode\":")   : null;
                 Double wind = cw != null ? findDouble(cw, "\"windspeed\":")   : null;
 
-                if (tempC != null) tempLbl.setText(fmtTemp(tempC));
-                if (code != null)  condLbl.setText(weatherCodeToText(code));
-                if (wind != null)  windLbl.setText(String.format(Locale.US, "Wind: %.0f km/h", wind));
-
                 // ----- Today's high/low -----
                 Double tMax = findFirstArrayDouble(wxJson, "\"temperature_2m_max\":[");
                 Double tMin = findFirstArrayDouble(wxJson, "\"temperature_2m_min\":[");
+
+                parse.end();
+                if (parse.shouldCommit()) {
+                    parse.chars = wxJson.length();
+                    parse.commit();
+                }
+
+                placeLbl.setText(place);
+                if (tempC != null) tempLbl.setText(fmtTemp(tempC));
+                if (code != null)  condLbl.setText(weatherCodeToText(code));
+                if (wind != null)  windLbl.setText(String.format(Locale.US, "Wind: %.0f km/h", wind));
                 if (tMax != null && tMin != null) {
                     hiLoLbl.setText("Today — High: " + fmtTemp(tMax) + "   Low: " + fmtTemp(tMin));
                 } else {
@@ -147,8 +156,23 @@ public class WeatherWindow {
                 .timeout(Duration.ofSeconds(12))
                 .header("User-Agent", "JavaFX-Phone/1.0")
                 .GET().build();
-        return http.sendAsync(req, HttpResponse.BodyHandlers.ofString())
-                .thenApply(HttpResponse::body);
+        PhoneEvents.NetworkFetch ev = new PhoneEvents.NetworkFetch();
+        ev.begin();
+        // read bytes so the event gets the size for free; the APIs answer in UTF-8 JSON
+        return http.sendAsync(req, HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((resp, err) -> {
+                    ev.end();
+                    if (ev.shouldCommit()) {
+                        ev.url = url;
+                        ev.success = err == null;
+                        if (resp != null) {
+                            ev.status = resp.statusCode();
+                            ev.bytesRead = resp.body().length;
+                        }
+                        ev.commit();
+                    }
+                })
+                .thenApply(resp -> new String(resp.body(), StandardCharsets.UTF_8));
     }
 
     private static String urlEncode(String s) {